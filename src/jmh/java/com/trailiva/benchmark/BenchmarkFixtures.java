@@ -0,0 +1,53 @@
+package com.trailiva.benchmark;
+
+import com.trailiva.data.model.Role;
+import com.trailiva.data.model.User;
+import com.trailiva.data.repository.UserRepository;
+import com.trailiva.security.JwtKeyRing;
+import com.trailiva.security.JwtTokenProvider;
+import com.trailiva.util.AppConstants;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared objects for the benchmarks, wired by hand so that no Spring context or database is needed.
+ */
+final class BenchmarkFixtures {
+    static final String EMAIL = "ismail@gmail.com";
+
+    private BenchmarkFixtures() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setUserId(1L);
+        user.setFirstName("Ismail");
+        user.setLastName("Abdullah");
+        user.setEmail(EMAIL);
+        user.setPassword("pass1234");
+        user.setEnabled(true);
+        user.getRoles().add(new Role("ROLE_USER"));
+        return user;
+    }
+
+    static JwtTokenProvider tokenProvider(long verifiedCacheSize) {
+        return new JwtTokenProvider(new JwtKeyRing(AppConstants.JWT_SECRET, 24), verifiedCacheSize, 30);
+    }
+
+    /**
+     * A {@link UserRepository} backed by a map. Only {@code findByEmail} is supported.
+     */
+    static UserRepository inMemoryUserRepository(User... users) {
+        Map<String, User> byEmail = new ConcurrentHashMap<>();
+        for (User user : users) byEmail.put(user.getEmail(), user);
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) return Optional.ofNullable(byEmail.get((String) args[0]));
+                    if (method.getName().equals("toString")) return "InMemoryUserRepository";
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
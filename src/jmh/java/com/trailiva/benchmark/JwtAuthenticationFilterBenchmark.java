@@ -0,0 +1,70 @@
+package com.trailiva.benchmark;
+
+import com.trailiva.security.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The whole filter on an authenticated route, from header parsing to a populated security context.
+ * {@code stateless=false} takes the user lookup path, through the principal cache unless
+ * {@code cachePrincipals=false} sends every request to the in-memory repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+    @Param({"true", "false"})
+    private boolean stateless;
+
+    @Param({"true", "false"})
+    private boolean cachePrincipals;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(10_000);
+        PrincipalCache principalCache = cachePrincipals ? new PrincipalCache(10_000, 300) : new PrincipalCache(1, 1) {
+            @Override
+            public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+                return loader.apply(email);
+            }
+        };
+        CustomUserDetailService userDetailService = new CustomUserDetailService(
+                BenchmarkFixtures.inMemoryUserRepository(BenchmarkFixtures.user()), principalCache);
+        filter = new JwtAuthenticationFilter(userDetailService, tokenProvider, new TokenRevocationList(),
+                new RouteTable(true), stateless);
+        authorization = "Bearer " + tokenProvider.generateToken(UserPrincipal.create(BenchmarkFixtures.user()));
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/trailiva/tasks/1");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object publicRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/trailiva/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
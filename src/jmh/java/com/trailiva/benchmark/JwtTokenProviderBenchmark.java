@@ -0,0 +1,43 @@
+package com.trailiva.benchmark;
+
+import com.trailiva.security.JwtTokenProvider;
+import com.trailiva.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = BenchmarkFixtures.tokenProvider(10_000);
+        uncachedProvider = BenchmarkFixtures.tokenProvider(0);
+        principal = UserPrincipal.create(BenchmarkFixtures.user());
+        token = cachingProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingProvider.validateToken(token, principal);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncachedProvider.validateToken(token, principal);
+    }
+}
@@ -0,0 +1,50 @@
+package com.trailiva.benchmark;
+
+import com.trailiva.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one password check per BCrypt strength, directly and through the bounded hashing pool.
+ * Use it to pick {@code trailiva.security.bcrypt.strength} for the target hardware.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+    private static final String PASSWORD = "pass1234";
+
+    @Param({"8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+    private BoundedPasswordEncoder bounded;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        bounded = new BoundedPasswordEncoder(strength, 0, 64);
+        hash = bcrypt.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.destroy();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return bcrypt.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean matchesOnBoundedPool() {
+        return bounded.matches(PASSWORD, hash);
+    }
+}
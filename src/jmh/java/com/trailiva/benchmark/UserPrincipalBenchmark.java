@@ -0,0 +1,37 @@
+package com.trailiva.benchmark;
+
+import com.trailiva.data.model.User;
+import com.trailiva.security.JwtTokenProvider;
+import com.trailiva.security.UserPrincipal;
+import com.trailiva.security.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPrincipalBenchmark {
+    private User user;
+    private VerifiedToken token;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        JwtTokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(10_000);
+        token = tokenProvider.verify(tokenProvider.generateToken(UserPrincipal.create(user))).orElseThrow();
+    }
+
+    @Benchmark
+    public UserPrincipal fromUser() {
+        return UserPrincipal.create(user);
+    }
+
+    @Benchmark
+    public UserPrincipal fromVerifiedToken() {
+        return UserPrincipal.create(token);
+    }
+}
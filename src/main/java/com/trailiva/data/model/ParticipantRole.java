@@ -0,0 +1,13 @@
+package com.trailiva.data.model;
+
+public enum ParticipantRole {
+    CREATOR, REPORTER, ASSIGNEE;
+
+    public static ParticipantRole roleMapper(String role) {
+        for (ParticipantRole item : ParticipantRole.values()) {
+            if (item.name().equalsIgnoreCase(role))
+                return item;
+        }
+        return null;
+    }
+}
@@ -28,7 +28,7 @@ public class Project extends RepresentationModel<Project> {
 
     private String referenceName;
 
-    @OneToMany(fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "project", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<Task> tasks = new ArrayList<>();
 
@@ -0,0 +1,73 @@
+package com.trailiva.data.model;
+
+import com.trailiva.util.AppConstants;
+import com.trailiva.util.Helper;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One rotation family of refresh tokens. Only the SHA-256 hash of the current token is
+ * stored; refreshing replaces it in place and keeps the previous hash to detect reuse.
+ */
+@Setter
+@Getter
+@Entity
+@NoArgsConstructor
+@Table(name = "refresh_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_previous_hash", columnList = "previous_hash"),
+                @Index(name = "idx_refresh_token_user", columnList = "user_id, created_date"),
+                @Index(name = "idx_refresh_token_expiry", columnList = "expiry_date")
+        })
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, columnDefinition = "char(64)")
+    private String tokenHash;
+
+    @Column(name = "previous_hash", columnDefinition = "char(64)")
+    private String previousHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(name = "FK_REFRESH_TOKEN_USER"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @CreationTimestamp
+    @Column(name = "created_date")
+    private LocalDateTime createdDate;
+
+    @UpdateTimestamp
+    private LocalDateTime rotatedDate;
+
+    @Column(name = "expiry_date")
+    private LocalDateTime expiryDate;
+
+    @Transient
+    private String token;
+
+    public RefreshToken(User user) {
+        this.user = user;
+        this.expiryDate = LocalDateTime.now().plusHours(AppConstants.JWT_REFRESH_TOKEN_EXPIRATION_IN_HR);
+        rotate();
+    }
+
+    public String rotate() {
+        this.token = UUID.randomUUID().toString();
+        this.previousHash = this.tokenHash;
+        this.tokenHash = Helper.hashToken(token);
+        return token;
+    }
+}
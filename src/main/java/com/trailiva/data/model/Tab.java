@@ -15,7 +15,7 @@ public enum Tab {
 
     public static Tab tabMapper(String tabRequest){
         for (Tab tab : Tab.values()) {
-            if (tab.getTab().equals(tabRequest))
+            if (tab.getTab().equals(tabRequest) || tab.name().equals(tabRequest))
                 return tab;
         }
         return PENDING;
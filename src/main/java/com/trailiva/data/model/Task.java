@@ -2,7 +2,10 @@ package com.trailiva.data.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.event.TaskChangePublisher;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -11,6 +14,7 @@ import org.springframework.hateoas.RepresentationModel;
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 
 @Entity
@@ -19,13 +23,36 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+@Table(uniqueConstraints = @UniqueConstraint(name = Task.NAME_KEY_CONSTRAINT, columnNames = {"project_id", "name_key"}),
+        indexes = {
+                @Index(name = "idx_task_project_priority", columnList = "project_id, priority"),
+                @Index(name = "idx_task_project_tab", columnList = "project_id, tab"),
+                @Index(name = "idx_task_project_updated", columnList = "project_id, updated_at, id"),
+                @Index(name = "idx_task_project_name", columnList = "project_id, name, id")
+        })
+@EntityListeners(TaskChangePublisher.class)
+@NamedEntityGraph(name = Task.WITH_PEOPLE, attributeNodes = {
+        @NamedAttributeNode("assignee"), @NamedAttributeNode("reporter"), @NamedAttributeNode("creator")})
 public class Task extends RepresentationModel<Task> {
+    /**
+     * Pooled sequence ids let Hibernate batch inserts, which identity columns rule out. The
+     * sequence is realigned with existing rows by {@link com.trailiva.event.SetupTaskIdSequence}.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_id_generator")
+    @SequenceGenerator(name = "task_id_generator", sequenceName = Task.ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
+    public static final String ID_SEQUENCE = "task_id_pool_seq";
+    public static final String NAME_KEY_CONSTRAINT = "uk_task_project_name_key";
+    public static final String WITH_PEOPLE = "Task.withPeople";
+
     private String name;
 
+    @JsonIgnore
+    @Column(name = "name_key")
+    private String nameKey;
+
     private String priority;
 
     private String description;
@@ -51,22 +78,55 @@ public class Task extends RepresentationModel<Task> {
 
     private String tab;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    /*
+     * People and project are lazy and never cascaded: list reads go through TaskSummary
+     * projections, and reads that render people ask for them with the WITH_PEOPLE graph.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "personalWorkspace", "officialWorkspace"})
     private User assignee;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reporter_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "personalWorkspace", "officialWorkspace"})
     private User reporter;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "creator_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "personalWorkspace", "officialWorkspace"})
     private User creator;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     @JsonIgnore
     private Project project;
 
-
+    /**
+     * State of the task as last read from or written to the database, used as the "before" side of
+     * {@link com.trailiva.event.TaskChangedEvent}.
+     */
+    @Transient
+    @JsonIgnore
+    private TaskSummary persistedState;
+
+    @PrePersist
+    void normalizeName() {
+        this.nameKey = nameKey(name);
+    }
+
+    /**
+     * Legacy duplicates were given {@code <key>#<id>} by the backfill; they keep it until renamed,
+     * otherwise any edit of such a task would trip the unique constraint.
+     */
+    @PreUpdate
+    void renormalizeName() {
+        String key = nameKey(name);
+        if (nameKey == null || key == null || !(nameKey.equals(key) || nameKey.equals(key + "#" + id)))
+            this.nameKey = key;
+    }
+
+    public static String nameKey(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,52 @@
+package com.trailiva.data.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One row per user and role on a task, so the tasks a user created, reports or is assigned to
+ * are read with a range scan of {@code idx_task_participant_user} instead of OR-ing joins over
+ * every task. All rows of a task share the same {@code updatedAt}, which keeps them next to each
+ * other in that index. Rows go away with their task through an {@code on delete cascade} key.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@IdClass(TaskParticipant.Key.class)
+@Table(name = "task_participant",
+        indexes = @Index(name = TaskParticipant.USER_INDEX, columnList = "user_id, updated_at, task_id"))
+public class TaskParticipant {
+    public static final String USER_INDEX = "idx_task_participant_user";
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ParticipantRole role;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long taskId;
+        private ParticipantRole role;
+    }
+}
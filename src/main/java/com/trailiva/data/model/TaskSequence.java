@@ -0,0 +1,27 @@
+package com.trailiva.data.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Highest task reference number handed out for a project, advanced a block at a time.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "task_sequence")
+public class TaskSequence {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+}
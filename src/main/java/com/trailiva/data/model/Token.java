@@ -1,35 +1,58 @@
 package com.trailiva.data.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
-import com.trailiva.util.AppConstants;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.trailiva.util.Helper;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.hateoas.RepresentationModel;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
-import java.util.UUID;
 
-import static com.trailiva.data.model.TokenType.REFRESH;
+import static com.trailiva.util.AppConstants.EXPIRATION;
 
+/**
+ * Single store for every emailed token: verification, password reset and workspace, project
+ * or task requests. Only the hash of the token is persisted; {@link #targetId} holds the id of
+ * the workspace, project or task the token refers to, as implied by its {@link TokenType}.
+ */
 @Setter
 @Getter
 @Entity
 @NoArgsConstructor
+@Table(name = "request_token", indexes = {
+        @Index(name = "idx_request_token_hash_type", columnList = "token_hash, token_type", unique = true),
+        @Index(name = "idx_request_token_expiry", columnList = "expiry_date")
+})
 public class Token extends RepresentationModel<Token> {
-    private final static long EXPIRATION = 48L;
-
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @JsonIgnore
+    @Column(name = "token_hash", nullable = false, columnDefinition = "char(64)")
+    private String tokenHash;
+
+    @Transient
     private String token;
 
-    @OneToOne(fetch = FetchType.EAGER, targetEntity = User.class)
-    @JoinColumn(nullable = false, name = "user_id", foreignKey = @ForeignKey(name = "FK_VERIFY_USER"))
-    private User User;
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(nullable = false, name = "user_id", foreignKey = @ForeignKey(name = "FK_REQUEST_TOKEN_USER"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @Column(name = "token_type", nullable = false, length = 32)
+    private String tokenType;
+
+    @Column(name = "target_id")
+    private Long targetId;
 
     @JsonFormat(pattern="yyyy-MM-dd HH:mm:ss")
     @CreationTimestamp
@@ -39,36 +62,26 @@ public class Token extends RepresentationModel<Token> {
     @JsonFormat(pattern="yyyy-MM-dd HH:mm:ss")
     private LocalDateTime updatedDate;
 
+    @Column(name = "expiry_date", nullable = false)
     private LocalDateTime expiryDate;
 
-    private String tokenType;
+    public Token(String token, User user, String tokenType) {
+        this(token, user, tokenType, null);
+    }
 
-    public Token(String token, User User, String tokenType) {
-        this.token = token;
-        this.User = User;
-        this.tokenType = tokenType;
-        this.expiryDate = calculateExpiryDate(EXPIRATION);
+    public Token(String token, User user, String tokenType, Long targetId) {
+        this.user = user;
+        this.targetId = targetId;
+        updateToken(token, tokenType);
     }
 
     private LocalDateTime calculateExpiryDate(long expiryTimeInHours){
         return LocalDateTime.now().plusHours(expiryTimeInHours);
     }
 
-    public void updateToken(String code){
-        this.token = code;
-        this.tokenType = REFRESH.toString();
-        this.expiryDate = calculateExpiryDate(EXPIRATION);
-    }
-
-    public Token(User User){
-        this.token = UUID.randomUUID().toString();
-        this.tokenType = REFRESH.toString();
-        this.expiryDate = calculateExpiryDate(AppConstants.JWT_REFRESH_TOKEN_EXPIRATION_IN_HR);
-        this.User = User;
-    }
-
     public void updateToken(String code, String tokenType){
         this.token = code;
+        this.tokenHash = Helper.hashToken(code);
         this.tokenType = tokenType;
         this.expiryDate = calculateExpiryDate(EXPIRATION);
     }
@@ -0,0 +1,30 @@
+package com.trailiva.data.projection;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row of the board query: a task summary plus its position in its tab and the size of that tab.
+ */
+public interface BoardRow {
+    Long getId();
+    String getName();
+    String getPriority();
+    String getDescription();
+    Boolean getIsAssigned();
+    Boolean getIsRequested();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    LocalDate getDueDate();
+    Boolean getElapse();
+    String getTaskReference();
+    String getTab();
+    long getTabTotal();
+
+    default TaskSummary toSummary() {
+        return new TaskSummary(getId(), getName(), getPriority(), getDescription(),
+                Boolean.TRUE.equals(getIsAssigned()), Boolean.TRUE.equals(getIsRequested()),
+                getCreatedAt(), getUpdatedAt(), getDueDate(), Boolean.TRUE.equals(getElapse()),
+                getTaskReference(), getTab());
+    }
+}
@@ -0,0 +1,13 @@
+package com.trailiva.data.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class DueTask {
+    private final Long id;
+    private final LocalDate dueDate;
+}
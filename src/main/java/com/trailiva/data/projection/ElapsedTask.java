@@ -0,0 +1,12 @@
+package com.trailiva.data.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Row returned by the elapse updates: a task that this call flipped to elapsed.
+ */
+public interface ElapsedTask {
+    Long getId();
+    Long getProjectId();
+    LocalDate getDueDate();
+}
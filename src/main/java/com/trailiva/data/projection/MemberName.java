@@ -0,0 +1,20 @@
+package com.trailiva.data.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MemberName {
+    public static final String SELECT = "select new com.trailiva.data.projection.MemberName(" +
+            "u.userId, u.firstName, u.lastName) from User u ";
+
+    private final Long userId;
+    private final String firstName;
+    private final String lastName;
+
+    public String fullName() {
+        if (firstName == null) return lastName;
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,23 @@
+package com.trailiva.data.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * One typeahead entry: a task name, a task reference or a workspace member name.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class Suggestion {
+    public enum Type {TASK, REFERENCE, USER}
+
+    private final Type type;
+    private final Long id;
+    private final String label;
+
+    public String key() {
+        return type + ":" + id;
+    }
+}
@@ -0,0 +1,17 @@
+package com.trailiva.data.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Number of tasks of a project sharing one combination of tab, priority, assignment and elapse.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskCountRow {
+    private final String tab;
+    private final String priority;
+    private final boolean isAssigned;
+    private final boolean elapse;
+    private final long count;
+}
@@ -0,0 +1,61 @@
+package com.trailiva.data.projection;
+
+import com.trailiva.web.exceptions.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last task of a page: the sort key of that task plus its id, encoded as an
+ * opaque url safe token that clients hand back to get the next page.
+ */
+@Getter
+public final class TaskCursor {
+    private final TaskSort sort;
+    private final Long id;
+    private final String name;
+    private final LocalDateTime updatedAt;
+
+    private TaskCursor(TaskSort sort, Long id, String name, LocalDateTime updatedAt) {
+        this.sort = sort;
+        this.id = id;
+        this.name = name;
+        this.updatedAt = updatedAt;
+    }
+
+    public static TaskCursor after(TaskSummary task, TaskSort sort) {
+        return new TaskCursor(sort, task.getId(), task.getName(), task.getUpdatedAt());
+    }
+
+    /**
+     * A {@link TaskSort#RECENT} position at a time other than the task's own {@code updatedAt},
+     * such as when the user joined the task.
+     */
+    public static TaskCursor recent(Long id, LocalDateTime updatedAt) {
+        return new TaskCursor(TaskSort.RECENT, id, null, updatedAt);
+    }
+
+    public String encode() {
+        String key = sort == TaskSort.NAME ? name : String.valueOf(updatedAt);
+        String raw = sort.getCode() + ":" + id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String token, TaskSort sort) throws BadRequestException {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.getCode()))
+                throw new BadRequestException("Cursor does not match the requested sort");
+            Long id = Long.valueOf(parts[1]);
+            return sort == TaskSort.NAME
+                    ? new TaskCursor(sort, id, parts[2], null)
+                    : new TaskCursor(sort, id, null, LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.trailiva.data.projection;
+
+import lombok.Getter;
+
+/**
+ * Orders supported by keyset pagination. Each ends with the task id so the order is total.
+ */
+@Getter
+public enum TaskSort {
+    RECENT("u"), NAME("n");
+
+    private final String code;
+
+    TaskSort(String code) {
+        this.code = code;
+    }
+
+    public static TaskSort fetchSort(String sort) {
+        for (TaskSort item : TaskSort.values()) {
+            if (item.name().equalsIgnoreCase(sort) || item.code.equals(sort))
+                return item;
+        }
+        return RECENT;
+    }
+}
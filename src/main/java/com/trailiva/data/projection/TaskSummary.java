@@ -0,0 +1,49 @@
+package com.trailiva.data.projection;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.trailiva.data.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read only view of a task built directly by JPQL constructor expressions,
+ * so listings never materialise {@link Task} entities or their users.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public class TaskSummary {
+    public static final String SELECT = "select new com.trailiva.data.projection.TaskSummary(" +
+            "t.id, t.name, t.priority, t.description, t.isAssigned, t.isRequested, t.createdAt, " +
+            "t.updatedAt, t.dueDate, t.elapse, t.taskReference, t.tab) from Task t ";
+
+    private final Long id;
+    private final String name;
+    private final String priority;
+    private final String description;
+    private final boolean isAssigned;
+    private final boolean isRequested;
+
+    @JsonFormat(pattern="yyyy-MM-dd HH:mm:ss")
+    private final LocalDateTime createdAt;
+
+    @JsonFormat(pattern="yyyy-MM-dd HH:mm:ss")
+    private final LocalDateTime updatedAt;
+
+    @JsonFormat(pattern="yyyy-MM-dd")
+    private final LocalDate dueDate;
+
+    private final boolean elapse;
+    private final String taskReference;
+    private final String tab;
+
+    public static TaskSummary of(Task task) {
+        return new TaskSummary(task.getId(), task.getName(), task.getPriority(), task.getDescription(),
+                task.isAssigned(), task.isRequested(), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getDueDate(), task.isElapse(), task.getTaskReference(), task.getTab());
+    }
+}
@@ -2,11 +2,31 @@ package com.trailiva.data.repository;
 
 import com.trailiva.data.model.OfficialWorkspace;
 import com.trailiva.data.model.User;
+import com.trailiva.data.projection.MemberName;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface OfficialWorkspaceRepository extends JpaRepository<OfficialWorkspace, Long>, JpaSpecificationExecutor<OfficialWorkspace> {
     boolean existsByName(String name);
+
+    @Query("select p.projectId from OfficialWorkspace w join w.projects p where w.id = :workspaceId")
+    List<Long> findProjectIds(@Param("workspaceId") Long workspaceId);
+
+    @Query("select w.id from OfficialWorkspace w join w.projects p where p.projectId = :projectId")
+    Optional<Long> findIdByProjectId(@Param("projectId") Long projectId);
+
+    @Query(MemberName.SELECT + "where u.officialWorkspace.id = :workspaceId " +
+            "or u in (select c from OfficialWorkspace w join w.contributors c where w.id = :workspaceId) " +
+            "or u in (select m from OfficialWorkspace w join w.moderators m where w.id = :workspaceId)")
+    List<MemberName> findMemberNames(@Param("workspaceId") Long workspaceId);
+
+    @Query("select case when count(u) > 0 then true else false end from User u where u.userId = :userId and (u.officialWorkspace.id = :workspaceId " +
+            "or u in (select c from OfficialWorkspace w join w.contributors c where w.id = :workspaceId) " +
+            "or u in (select m from OfficialWorkspace w join w.moderators m where w.id = :workspaceId))")
+    boolean isMember(@Param("workspaceId") Long workspaceId, @Param("userId") Long userId);
 }
@@ -2,11 +2,27 @@ package com.trailiva.data.repository;
 
 import com.trailiva.data.model.PersonalWorkspace;
 import com.trailiva.data.model.User;
+import com.trailiva.data.projection.MemberName;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PersonalWorkspaceRepository extends JpaRepository<PersonalWorkspace, Long>, JpaSpecificationExecutor<PersonalWorkspace> {
     boolean existsByName(String name);
+
+    @Query("select p.projectId from PersonalWorkspace w join w.projects p where w.id = :workspaceId")
+    List<Long> findProjectIds(@Param("workspaceId") Long workspaceId);
+
+    @Query("select w.id from PersonalWorkspace w join w.projects p where p.projectId = :projectId")
+    Optional<Long> findIdByProjectId(@Param("projectId") Long projectId);
+
+    @Query(MemberName.SELECT + "where u.personalWorkspace.id = :workspaceId")
+    List<MemberName> findMemberNames(@Param("workspaceId") Long workspaceId);
+
+    @Query("select case when count(u) > 0 then true else false end from User u where u.userId = :userId and u.personalWorkspace.id = :workspaceId")
+    boolean isMember(@Param("workspaceId") Long workspaceId, @Param("userId") Long userId);
 }
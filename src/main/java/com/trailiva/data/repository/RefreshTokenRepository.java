@@ -0,0 +1,25 @@
+package com.trailiva.data.repository;
+
+import com.trailiva.data.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    Optional<RefreshToken> findByPreviousHash(String previousHash);
+
+    List<RefreshToken> findByUserUserIdOrderByCreatedDateDesc(Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = "delete from refresh_token where id in (select t.id from refresh_token t " +
+            "where t.expiry_date < CURRENT_TIMESTAMP order by t.expiry_date limit :batchSize)")
+    int deleteExpiredToken(@Param("batchSize") int batchSize);
+}
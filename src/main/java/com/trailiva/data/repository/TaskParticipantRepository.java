@@ -0,0 +1,45 @@
+package com.trailiva.data.repository;
+
+import com.trailiva.data.model.ParticipantRole;
+import com.trailiva.data.model.TaskParticipant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskParticipantRepository extends JpaRepository<TaskParticipant, TaskParticipant.Key> {
+
+    /**
+     * Makes {@code userId} the {@code role} of every task in {@code taskIds}, replacing whoever
+     * held that role, and moves every participant row of those tasks to {@code updatedAt}.
+     * Being native, it flushes pending task inserts first, so the foreign key always holds.
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = "with joined as (insert into task_participant as p (task_id, role, user_id, updated_at) " +
+            "select t.id, :role, :userId, :updatedAt from task t where t.id in :taskIds " +
+            "on conflict (task_id, role) do update set user_id = excluded.user_id, updated_at = excluded.updated_at " +
+            "returning p.task_id) " +
+            "update task_participant o set updated_at = :updatedAt " +
+            "where o.task_id in (select j.task_id from joined j) and o.role <> :role")
+    int join(@Param("taskIds") Collection<Long> taskIds, @Param("role") String role,
+             @Param("userId") Long userId, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select p from TaskParticipant p where p.userId = :userId and p.role in :roles " +
+            "order by p.updatedAt desc, p.taskId desc")
+    List<TaskParticipant> findLatest(@Param("userId") Long userId, @Param("roles") Collection<ParticipantRole> roles,
+                                     Pageable pageable);
+
+    @Query("select p from TaskParticipant p where p.userId = :userId and p.role in :roles " +
+            "and (p.updatedAt < :updatedAt or (p.updatedAt = :updatedAt and p.taskId < :taskId)) " +
+            "order by p.updatedAt desc, p.taskId desc")
+    List<TaskParticipant> findLatestBefore(@Param("userId") Long userId, @Param("roles") Collection<ParticipantRole> roles,
+                                           @Param("updatedAt") LocalDateTime updatedAt, @Param("taskId") Long taskId,
+                                           Pageable pageable);
+}
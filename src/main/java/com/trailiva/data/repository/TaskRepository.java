@@ -3,22 +3,151 @@ package com.trailiva.data.repository;
 import com.trailiva.data.model.Priority;
 import com.trailiva.data.model.Tab;
 import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.BoardRow;
+import com.trailiva.data.projection.DueTask;
+import com.trailiva.data.projection.ElapsedTask;
+import com.trailiva.data.projection.TaskCountRow;
+import com.trailiva.data.projection.TaskSummary;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
     List<Task> findByDueDate(LocalDate dueDate);
 
+    long countByProjectProjectId(Long projectId);
+
+    /**
+     * Highest number already used in a project's task references, e.g. 12 for {@code TRV-12}.
+     * Older references came from a counter shared by all projects, so this can exceed the task count.
+     */
+    @Query(nativeQuery = true, value = "select coalesce(max(cast(substring(t.task_reference from '-([0-9]+)$') as bigint)), 0) " +
+            "from task t where t.project_id = :projectId")
+    long findMaxReferenceNumber(@Param("projectId") Long projectId);
+
+    @EntityGraph(Task.WITH_PEOPLE)
+    Optional<Task> findByIdAndProjectProjectId(Long id, Long projectId);
+
+    @EntityGraph(Task.WITH_PEOPLE)
+    Optional<Task> findWithPeopleById(Long id);
+
+    @Query(TaskSummary.SELECT + "where t.project.projectId = :projectId and t.priority = :priority order by t.id")
+    List<TaskSummary> findSummariesByProjectAndPriority(@Param("projectId") Long projectId, @Param("priority") String priority);
+
+    @Query(TaskSummary.SELECT + "where t.project.projectId = :projectId and t.tab = :tab order by t.id")
+    List<TaskSummary> findSummariesByProjectAndTab(@Param("projectId") Long projectId, @Param("tab") String tab);
+
+    @Query(TaskSummary.SELECT + "where t.id in :ids")
+    List<TaskSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * First {@code pageSize} tasks of every tab of a project, most recently updated first, each with
+     * the size of its tab. A single scan of the project's tasks answers the whole board.
+     */
+    @Query(nativeQuery = true, value = "select b.* from (select t.id as id, t.name as name, t.priority as priority, " +
+            "t.description as description, t.is_assigned as \"isAssigned\", t.is_requested as \"isRequested\", " +
+            "t.created_at as \"createdAt\", t.updated_at as \"updatedAt\", t.due_date as \"dueDate\", t.elapse as elapse, " +
+            "t.task_reference as \"taskReference\", t.tab as tab, " +
+            "row_number() over (partition by t.tab order by t.updated_at desc, t.id desc) as position, " +
+            "count(*) over (partition by t.tab) as \"tabTotal\" " +
+            "from task t where t.project_id = :projectId) b where b.position <= :pageSize order by b.tab, b.position")
+    List<BoardRow> findBoard(@Param("projectId") Long projectId, @Param("pageSize") int pageSize);
+
+    @Query("select new com.trailiva.data.projection.TaskCountRow(t.tab, t.priority, t.isAssigned, t.elapse, count(t)) " +
+            "from Task t where t.project.projectId = :projectId group by t.tab, t.priority, t.isAssigned, t.elapse")
+    List<TaskCountRow> countByProjectGrouped(@Param("projectId") Long projectId);
+
+    /**
+     * Every task of a project in id order, read through a forward-only cursor 500 rows at a
+     * time. Callers must consume and close the stream inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")})
+    @Query(TaskSummary.SELECT + "where t.project.projectId = :projectId order by t.id")
+    Stream<TaskSummary> streamSummariesByProjectId(@Param("projectId") Long projectId);
+
+    @Query(TaskSummary.SELECT + "where t.project.projectId in :projectIds")
+    List<TaskSummary> findSummariesByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query(TaskSummary.SELECT + "where t.id > :fromId and t.id <= :toId")
+    List<TaskSummary> findSummariesByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query(TaskSummary.SELECT + "where t.updatedAt >= :since")
+    List<TaskSummary> findSummariesUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("select t.id from Task t where t.id > :fromId and t.id <= :toId")
+    List<Long> findIdsByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("select coalesce(max(t.id), 0) from Task t")
+    long findMaxId();
+
+    @Query(nativeQuery = true, value = "select t.id from task t, to_tsquery('simple', :query) q " +
+            "where t.search_vector @@ q order by ts_rank(t.search_vector, q) desc, t.id limit :limit offset :offset")
+    List<Number> searchFullText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(nativeQuery = true, value = "select count(*) from task t where t.search_vector @@ to_tsquery('simple', :query)")
+    long countFullText(@Param("query") String query);
+
+    /**
+     * Fills name_key for tasks created before it existed. Only the oldest task of each clashing
+     * name gets the plain key, so the backfill never trips the unique constraint.
+     */
     @Modifying
-    @Query(nativeQuery = true, value = "update Task t set elapse = true where CURRENT_DATE > t.due_date and elapse = false")
-    void updateDueTask();
+    @Query(nativeQuery = true, value = "update task t set name_key = lower(trim(t.name)) " +
+            "where t.name_key is null and t.project_id is not null and t.name is not null " +
+            "and t.id = (select min(o.id) from task o where o.project_id = t.project_id " +
+            "and lower(trim(o.name)) = lower(trim(t.name))) " +
+            "and not exists (select 1 from task o where o.project_id = t.project_id " +
+            "and o.name_key = lower(trim(t.name)))")
+    int backfillNameKeys();
+
+    /**
+     * Gives the remaining legacy duplicates a key made unique by their id, {@code <key>#<id>}, which
+     * {@link Task} keeps on update until the task is renamed.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "update task t set name_key = lower(trim(t.name)) || '#' || t.id " +
+            "where t.name_key is null and t.project_id is not null and t.name is not null " +
+            "and not exists (select 1 from task o where o.project_id = t.project_id " +
+            "and o.name_key = lower(trim(t.name)) || '#' || t.id)")
+    int backfillDuplicateNameKeys();
+
+    @Query("select new com.trailiva.data.projection.DueTask(t.id, t.dueDate) from Task t " +
+            "where t.elapse = false and t.dueDate < :before")
+    List<DueTask> findPendingDueBefore(@Param("before") LocalDate before);
+
+    @Query("select new com.trailiva.data.projection.DueTask(t.id, t.dueDate) from Task t " +
+            "where t.elapse = false and t.dueDate >= :from and t.dueDate < :before")
+    List<DueTask> findPendingDueBetween(@Param("from") LocalDate from, @Param("before") LocalDate before);
+
+    /**
+     * Marks the given tasks elapsed if they are still pending and overdue, returning only the rows
+     * this call changed, so concurrent nodes never report the same task twice.
+     */
+    @Transactional
+    @Query(nativeQuery = true, value = "update task set elapse = true " +
+            "where id in (:ids) and elapse = false and due_date < :today " +
+            "returning id as id, project_id as \"projectId\", due_date as \"dueDate\"")
+    List<ElapsedTask> elapseTasks(@Param("ids") Collection<Long> ids, @Param("today") LocalDate today);
+
+    @Transactional
+    @Query(nativeQuery = true, value = "update task set elapse = true where id in (select o.id from task o " +
+            "where o.elapse = false and o.due_date < :today limit :batchSize for update skip locked) " +
+            "returning id as id, project_id as \"projectId\", due_date as \"dueDate\"")
+    List<ElapsedTask> elapseOverdueTasks(@Param("today") LocalDate today, @Param("batchSize") int batchSize);
 }
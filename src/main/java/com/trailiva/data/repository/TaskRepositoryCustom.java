@@ -0,0 +1,24 @@
+package com.trailiva.data.repository;
+
+import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    /**
+     * Seeks past {@code after} (when given) in {@code sort} order and reads at most {@code limit}
+     * task summaries, so every page costs the same whatever its depth.
+     */
+    List<TaskSummary> findSummaries(Specification<Task> specification, TaskSort sort, TaskCursor after, int limit);
+
+    /**
+     * Offset page of task summaries, selecting only the summary columns and no associations.
+     */
+    Page<TaskSummary> findSummaryPage(Specification<Task> specification, Pageable pageable);
+}
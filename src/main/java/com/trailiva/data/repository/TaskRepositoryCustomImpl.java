@@ -0,0 +1,86 @@
+package com.trailiva.data.repository;
+
+import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> findSummaries(Specification<Task> specification, TaskSort sort, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(summary(cb, task));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = filter(specification, task, query, cb);
+        if (filter != null) predicates.add(filter);
+        Path<Long> id = task.get("id");
+        if (sort == TaskSort.NAME) {
+            Path<String> name = task.get("name");
+            if (after != null) predicates.add(cb.or(cb.greaterThan(name, after.getName()),
+                    cb.and(cb.equal(name, after.getName()), cb.greaterThan(id, after.getId()))));
+            query.orderBy(cb.asc(name), cb.asc(id));
+        } else {
+            Path<LocalDateTime> updatedAt = task.get("updatedAt");
+            if (after != null) predicates.add(cb.or(cb.lessThan(updatedAt, after.getUpdatedAt()),
+                    cb.and(cb.equal(updatedAt, after.getUpdatedAt()), cb.lessThan(id, after.getId()))));
+            query.orderBy(cb.desc(updatedAt), cb.desc(id));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Page<TaskSummary> findSummaryPage(Specification<Task> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(summary(cb, task));
+        Predicate filter = filter(specification, task, query, cb);
+        if (filter != null) query.where(filter);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+        List<TaskSummary> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        return PageableExecutionUtils.getPage(rows, pageable, () -> {
+            CriteriaQuery<Long> count = cb.createQuery(Long.class);
+            Root<Task> counted = count.from(Task.class);
+            count.select(cb.count(counted));
+            Predicate countFilter = filter(specification, counted, count, cb);
+            if (countFilter != null) count.where(countFilter);
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    private static CompoundSelection<TaskSummary> summary(CriteriaBuilder cb, Root<Task> task) {
+        return cb.construct(TaskSummary.class,
+                task.get("id"), task.get("name"), task.get("priority"), task.get("description"),
+                task.get("isAssigned"), task.get("isRequested"), task.get("createdAt"), task.get("updatedAt"),
+                task.get("dueDate"), task.get("elapse"), task.get("taskReference"), task.get("tab"));
+    }
+
+    private static Predicate filter(Specification<Task> specification, Root<Task> task, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return specification == null ? null : specification.toPredicate(task, query, cb);
+    }
+}
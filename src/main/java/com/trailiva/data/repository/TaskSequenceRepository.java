@@ -0,0 +1,23 @@
+package com.trailiva.data.repository;
+
+import com.trailiva.data.model.TaskSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface TaskSequenceRepository extends JpaRepository<TaskSequence, Long> {
+
+    /**
+     * Atomically reserves the next {@code blockSize} numbers of a project and returns the last
+     * one reserved. A project seen for the first time starts after {@code seed}. Runs in its own
+     * transaction so the row lock is released before the caller's work continues.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(nativeQuery = true, value = "insert into task_sequence as s (project_id, next_value) " +
+            "values (:projectId, :seed + :blockSize) " +
+            "on conflict (project_id) do update set next_value = s.next_value + :blockSize " +
+            "returning s.next_value")
+    long allocateBlock(@Param("projectId") Long projectId, @Param("seed") long seed, @Param("blockSize") int blockSize);
+}
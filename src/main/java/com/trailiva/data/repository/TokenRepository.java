@@ -4,12 +4,26 @@ import com.trailiva.data.model.Token;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+import static com.trailiva.util.Helper.hashToken;
+
 public interface TokenRepository extends JpaRepository<Token, Long> {
-    Optional<Token> findByTokenAndTokenType(String verificationCode, String tokenType);
+    Optional<Token> findByTokenHashAndTokenType(String tokenHash, String tokenType);
+
+    default Optional<Token> findByTokenAndTokenType(String token, String tokenType) {
+        return token == null ? Optional.empty() : findByTokenHashAndTokenType(hashToken(token), tokenType);
+    }
+
+    /**
+     * Deletes at most {@code batchSize} expired tokens, oldest expiry first, in its own transaction.
+     */
+    @Transactional
     @Modifying
-    @Query(nativeQuery = true, value = "delete from token t where CURRENT_TIMESTAMP > t.expiry_date")
-    void deleteExpiredToken();
+    @Query(nativeQuery = true, value = "delete from request_token where id in (select t.id from request_token t " +
+            "where t.expiry_date < CURRENT_TIMESTAMP order by t.expiry_date limit :batchSize)")
+    int deleteExpiredToken(@Param("batchSize") int batchSize);
 }
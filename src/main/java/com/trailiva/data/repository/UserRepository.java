@@ -1,6 +1,7 @@
 package com.trailiva.data.repository;
 
 import com.trailiva.data.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
@@ -9,6 +10,7 @@ import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 }
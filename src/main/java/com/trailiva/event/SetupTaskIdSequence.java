@@ -0,0 +1,35 @@
+package com.trailiva.event;
+
+import com.trailiva.data.model.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Moves the task id sequence past ids handed out before tasks switched from an identity
+ * column to it. Once the sequence is ahead of every row this is a no-op, so the sequence
+ * never moves backwards under a running node.
+ */
+@Configuration
+@Slf4j
+public class SetupTaskIdSequence implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final String CREATE_SEQUENCE = "create sequence if not exists " + Task.ID_SEQUENCE + " increment by 50";
+    private static final String ALIGN_SEQUENCE = "select setval('" + Task.ID_SEQUENCE + "', max(t.id) + 50) from task t " +
+            "having max(t.id) + 50 > (select last_value from " + Task.ID_SEQUENCE + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SetupTaskIdSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        jdbcTemplate.execute(CREATE_SEQUENCE);
+        Long aligned = jdbcTemplate.query(ALIGN_SEQUENCE, rs -> rs.next() ? rs.getLong(1) : null);
+        if (aligned != null) log.info("Moved {} to {}", Task.ID_SEQUENCE, aligned);
+    }
+}
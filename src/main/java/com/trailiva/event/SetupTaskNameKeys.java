@@ -0,0 +1,28 @@
+package com.trailiva.event;
+
+import com.trailiva.data.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.transaction.annotation.Transactional;
+
+@Configuration
+@Slf4j
+public class SetupTaskNameKeys implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final TaskRepository taskRepository;
+
+    public SetupTaskNameKeys(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    @Transactional
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        int updated = taskRepository.backfillNameKeys();
+        if (updated > 0) log.info("Backfilled name keys for {} tasks", updated);
+        int duplicates = taskRepository.backfillDuplicateNameKeys();
+        if (duplicates > 0) log.warn("Backfilled disambiguated name keys for {} tasks sharing a name", duplicates);
+    }
+}
@@ -0,0 +1,51 @@
+package com.trailiva.event;
+
+import com.trailiva.data.model.TaskParticipant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Creates the task participant table with a cascading foreign key to its task, then fills it
+ * from the assignee, reporter and creator columns of existing tasks. The backfill only runs
+ * while the table is empty, and every statement is a no-op once the schema is in place.
+ */
+@Configuration
+@Slf4j
+public class SetupTaskParticipants implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final String FOREIGN_KEY = "fk_task_participant_task";
+    private static final String CREATE_TABLE = "create table if not exists task_participant (" +
+            "task_id bigint not null, role varchar(16) not null, user_id bigint not null, " +
+            "updated_at timestamp not null, primary key (task_id, role))";
+    private static final String HAS_FOREIGN_KEY = "select exists (select 1 from pg_constraint where conname = '" + FOREIGN_KEY + "')";
+    private static final String ADD_FOREIGN_KEY = "alter table task_participant add constraint " + FOREIGN_KEY +
+            " foreign key (task_id) references task (id) on delete cascade";
+    private static final String ADD_INDEX = "create index if not exists " + TaskParticipant.USER_INDEX +
+            " on task_participant (user_id, updated_at, task_id)";
+    private static final String IS_EMPTY = "select not exists (select 1 from task_participant)";
+    private static final String BACKFILL = "insert into task_participant (task_id, role, user_id, updated_at) " +
+            "select t.id, r.role, r.user_id, coalesce(t.updated_at, t.created_at, now()) from task t " +
+            "cross join lateral (values ('CREATOR', t.creator_id), ('REPORTER', t.reporter_id), ('ASSIGNEE', t.assignee_id)) " +
+            "as r (role, user_id) where r.user_id is not null on conflict do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SetupTaskParticipants(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        jdbcTemplate.execute(CREATE_TABLE);
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_FOREIGN_KEY, Boolean.class)))
+            jdbcTemplate.execute(ADD_FOREIGN_KEY);
+        jdbcTemplate.execute(ADD_INDEX);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_EMPTY, Boolean.class))) {
+            int rows = jdbcTemplate.update(BACKFILL);
+            if (rows > 0) log.info("Backfilled {} task participants", rows);
+        }
+    }
+}
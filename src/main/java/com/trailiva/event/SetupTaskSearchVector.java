@@ -0,0 +1,37 @@
+package com.trailiva.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Adds the generated tsvector column and GIN index used by full-text task search. The column is
+ * computed by PostgreSQL itself, so it stays in step with every insert and update without any
+ * trigger or application code. Both statements are no-ops once the schema is in place.
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "trailiva.search.engine", havingValue = "full-text")
+public class SetupTaskSearchVector implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final String ADD_COLUMN = "alter table task add column if not exists search_vector tsvector " +
+            "generated always as (setweight(to_tsvector('simple', coalesce(name, '')), 'A') || " +
+            "setweight(to_tsvector('simple', coalesce(description, '')), 'B')) stored";
+    private static final String ADD_INDEX = "create index if not exists idx_task_search_vector on task using gin (search_vector)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SetupTaskSearchVector(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        jdbcTemplate.execute(ADD_COLUMN);
+        jdbcTemplate.execute(ADD_INDEX);
+        log.info("Full-text task search is enabled");
+    }
+}
@@ -0,0 +1,40 @@
+package com.trailiva.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Drops the single column unique keys Hibernate generated on the task's assignee, reporter and
+ * creator columns while they were mapped one-to-one; they stopped a user from holding the same
+ * role on two tasks. Once they are gone this finds nothing to drop.
+ */
+@Configuration
+@Slf4j
+public class SetupTaskUserKeys implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final String FIND_KEYS = "select c.conname from pg_constraint c " +
+            "join pg_class r on r.oid = c.conrelid " +
+            "join pg_attribute a on a.attrelid = r.oid and a.attnum = c.conkey[1] " +
+            "where r.relname = 'task' and c.contype = 'u' and array_length(c.conkey, 1) = 1 " +
+            "and a.attname in ('assignee_id', 'reporter_id', 'creator_id')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SetupTaskUserKeys(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        List<String> keys = jdbcTemplate.queryForList(FIND_KEYS, String.class);
+        for (String key : keys) {
+            jdbcTemplate.execute("alter table task drop constraint \"" + key + "\"");
+            log.info("Dropped unique key {} of task", key);
+        }
+    }
+}
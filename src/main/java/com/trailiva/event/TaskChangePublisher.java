@@ -0,0 +1,55 @@
+package com.trailiva.event;
+
+import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.TaskSummary;
+import org.springframework.context.ApplicationEventPublisher;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener of {@link Task}. Hibernate obtains it from the Spring context, so it can
+ * publish {@link TaskChangedEvent}s; listeners should use {@code @TransactionalEventListener} to
+ * see only committed changes.
+ */
+public class TaskChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    void onLoad(Task task) {
+        task.setPersistedState(TaskSummary.of(task));
+    }
+
+    @PostPersist
+    void onCreate(Task task) {
+        publish(task, TaskChangedEvent.Type.CREATED, null);
+    }
+
+    @PostUpdate
+    void onUpdate(Task task) {
+        publish(task, TaskChangedEvent.Type.UPDATED, task.getPersistedState());
+    }
+
+    @PostRemove
+    void onDelete(Task task) {
+        TaskSummary previous = task.getPersistedState() != null ? task.getPersistedState() : TaskSummary.of(task);
+        eventPublisher.publishEvent(new TaskChangedEvent(this, TaskChangedEvent.Type.DELETED, projectId(task), previous, null));
+    }
+
+    private void publish(Task task, TaskChangedEvent.Type type, TaskSummary previous) {
+        TaskSummary current = TaskSummary.of(task);
+        task.setPersistedState(current);
+        eventPublisher.publishEvent(new TaskChangedEvent(this, type, projectId(task), previous, current));
+    }
+
+    private static Long projectId(Task task) {
+        return task.getProject() == null ? null : task.getProject().getProjectId();
+    }
+}
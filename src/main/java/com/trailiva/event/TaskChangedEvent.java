@@ -0,0 +1,32 @@
+package com.trailiva.event;
+
+import com.trailiva.data.projection.TaskSummary;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link TaskChangePublisher} whenever a task row is inserted, updated or deleted.
+ * It carries detached snapshots of the task before and after the change, so listeners never
+ * touch the entity or its session. {@code previous} is null on creation, {@code current} on deletion.
+ */
+@Getter
+public class TaskChangedEvent extends ApplicationEvent {
+    public enum Type {CREATED, UPDATED, DELETED}
+
+    private final Type type;
+    private final Long projectId;
+    private final TaskSummary previous;
+    private final TaskSummary current;
+
+    public TaskChangedEvent(Object source, Type type, Long projectId, TaskSummary previous, TaskSummary current) {
+        super(source);
+        this.type = type;
+        this.projectId = projectId;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public Long getTaskId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+}
@@ -0,0 +1,23 @@
+package com.trailiva.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDate;
+
+/**
+ * Published once per task when its due date has passed and it was marked elapsed.
+ */
+@Getter
+public class TaskElapsedEvent extends ApplicationEvent {
+    private final Long taskId;
+    private final Long projectId;
+    private final LocalDate dueDate;
+
+    public TaskElapsedEvent(Object source, Long taskId, Long projectId, LocalDate dueDate) {
+        super(source);
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.dueDate = dueDate;
+    }
+}
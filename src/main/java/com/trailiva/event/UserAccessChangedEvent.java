@@ -0,0 +1,18 @@
+package com.trailiva.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever a user's credentials, roles, enabled flag or existence change,
+ * so that anything holding a copy of the user's security details can drop it.
+ */
+@Getter
+public class UserAccessChangedEvent extends ApplicationEvent {
+    private final String email;
+
+    public UserAccessChangedEvent(Object source, String email) {
+        super(source);
+        this.email = email;
+    }
+}
@@ -0,0 +1,26 @@
+package com.trailiva.event;
+
+import com.trailiva.data.model.WorkSpaceType;
+import com.trailiva.data.projection.MemberName;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a user joins or leaves a workspace.
+ */
+@Getter
+public class WorkspaceMembershipChangedEvent extends ApplicationEvent {
+    private final WorkSpaceType workspaceType;
+    private final Long workspaceId;
+    private final MemberName member;
+    private final boolean joined;
+
+    public WorkspaceMembershipChangedEvent(Object source, WorkSpaceType workspaceType, Long workspaceId,
+                                           MemberName member, boolean joined) {
+        super(source);
+        this.workspaceType = workspaceType;
+        this.workspaceId = workspaceId;
+        this.member = member;
+        this.joined = joined;
+    }
+}
@@ -0,0 +1,217 @@
+package com.trailiva.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the auth routes per client IP and per target email before any database or
+ * password hashing work is done. Buckets live in size bounded caches and are dropped once
+ * a key has been idle for a full refill period.
+ */
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+    static final String AUTH_PATH = "/api/v1/trailiva/auth/";
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+    /** Email bucket shared by every body too large to read here, so padding cannot dodge the email limit. */
+    private static final String OVERSIZED_BODY_KEY = "\0oversized-body";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final int ipCapacity;
+    private final int emailCapacity;
+    private final Duration refillPeriod;
+    private final boolean enabled;
+    private Counter ipRejections;
+    private Counter emailRejections;
+
+    public AuthRateLimitFilter(@Value("${trailiva.security.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${trailiva.security.rate-limit.ip-capacity:30}") int ipCapacity,
+                               @Value("${trailiva.security.rate-limit.email-capacity:5}") int emailCapacity,
+                               @Value("${trailiva.security.rate-limit.refill-seconds:60}") long refillSeconds,
+                               @Value("${trailiva.security.rate-limit.max-keys:100000}") long maxKeys) {
+        this.enabled = enabled;
+        this.ipCapacity = ipCapacity;
+        this.emailCapacity = emailCapacity;
+        this.refillPeriod = Duration.ofSeconds(refillSeconds);
+        this.ipBuckets = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(refillPeriod).build();
+        this.emailBuckets = Caffeine.newBuilder().maximumSize(maxKeys).expireAfterAccess(refillPeriod).build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(AUTH_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        long waitNanos = acquire(ipBuckets, request.getRemoteAddr(), ipCapacity, now);
+        if (waitNanos > 0) {
+            if (ipRejections != null) ipRejections.increment();
+            reject(response, waitNanos);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        String emailKey = normalize(request.getParameter("email"));
+        if (emailKey == null && isJsonBody(request)) {
+            CachedBodyRequest cached = new CachedBodyRequest(request);
+            emailKey = cached.isComplete() ? normalize(cached.readEmail()) : OVERSIZED_BODY_KEY;
+            forwarded = cached;
+        }
+        if (emailKey != null) {
+            waitNanos = acquire(emailBuckets, emailKey, emailCapacity, now);
+            if (waitNanos > 0) {
+                if (emailRejections != null) emailRejections.increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private long acquire(Cache<String, TokenBucket> buckets, String key, int capacity, long now) {
+        if (key == null) return 0;
+        return buckets.get(key, k -> new TokenBucket(capacity, refillPeriod, now)).tryAcquire(now);
+    }
+
+    private static String normalize(String email) {
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The declared length is not trusted: chunked bodies report none and a padded body can exceed
+     * any limit, and both must still reach the email bucket.
+     */
+    private static boolean isJsonBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return "POST".equalsIgnoreCase(request.getMethod()) && contentType != null
+                && contentType.toLowerCase(Locale.ROOT).startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Map<String, Object> data = new HashMap<>();
+        data.put("successful", false);
+        data.put("message", "Too many requests, please try again later");
+        response.getOutputStream().println(objectMapper.writeValueAsString(data));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ipRejections = Counter.builder("trailiva.auth.rate-limited").tag("key", "ip").register(registry);
+        emailRejections = Counter.builder("trailiva.auth.rate-limited").tag("key", "email").register(registry);
+        Gauge.builder("trailiva.auth.rate-limit.keys", this,
+                filter -> filter.ipBuckets.estimatedSize() + filter.emailBuckets.estimatedSize()).register(registry);
+    }
+
+    /**
+     * Buffers up to {@code MAX_BODY_BYTES + 1} bytes of a JSON body so the email can be read here, then
+     * replays that prefix followed by whatever is left of the original stream to the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] prefix;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.prefix = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        }
+
+        /** Whether the whole body fit in the prefix, so the email read from it is the one the controller sees. */
+        boolean isComplete() {
+            return prefix.length <= MAX_BODY_BYTES;
+        }
+
+        String readEmail() {
+            try {
+                JsonNode email = objectMapper.readTree(prefix).get("email");
+                return email != null && email.isTextual() ? email.asText() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            ByteArrayInputStream buffered = new ByteArrayInputStream(prefix);
+            ServletInputStream rest = super.getInputStream();
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return buffered.available() == 0 && (isComplete() || rest.isFinished());
+                }
+
+                @Override
+                public boolean isReady() {
+                    return buffered.available() > 0 || isComplete() || rest.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    if (!isComplete()) {
+                        rest.setReadListener(readListener);
+                        return;
+                    }
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() throws IOException {
+                    int b = buffered.read();
+                    return b >= 0 || isComplete() ? b : rest.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (len == 0) return 0;
+                    int n = buffered.read(b, off, len);
+                    return n > 0 || isComplete() ? n : rest.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
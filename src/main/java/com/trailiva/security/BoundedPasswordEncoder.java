@@ -0,0 +1,115 @@
+package com.trailiva.security;
+
+import com.trailiva.web.exceptions.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt run on a small dedicated pool with a bounded queue instead of on request threads.
+ * When the queue is full callers are turned away with {@link PasswordHashingRejectedException}
+ * rather than waiting behind a burst of sign ins.
+ */
+@Component
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int strength;
+    private volatile Timer hashTimer;
+
+    public BoundedPasswordEncoder(@Value("${trailiva.security.bcrypt.strength:10}") int strength,
+                                  @Value("${trailiva.security.bcrypt.threads:0}") int threads,
+                                  @Value("${trailiva.security.bcrypt.queue-capacity:64}") int queueCapacity) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), hashingThreads(), new ThreadPoolExecutor.AbortPolicy());
+        calibrate();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> work) {
+        Future<T> result;
+        try {
+            result = executor.submit(timed(work));
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingRejectedException("Too many sign in attempts, please try again shortly");
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> Callable<T> timed(Callable<T> work) {
+        Timer timer = hashTimer;
+        return timer == null ? work : () -> timer.recordCallable(work);
+    }
+
+    private void calibrate() {
+        long start = System.nanoTime();
+        delegate.encode("calibration");
+        log.info("BCrypt strength {} takes {} ms per hash on {} hashing threads",
+                strength, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), executor.getMaximumPoolSize());
+    }
+
+    private static ThreadFactory hashingThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        hashTimer = Timer.builder("trailiva.password.hash")
+                .tag("strength", String.valueOf(strength))
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("trailiva.password.hash.queue", this, BoundedPasswordEncoder::queueDepth).register(registry);
+        Gauge.builder("trailiva.password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import static java.lang.String.format;
 
@@ -15,14 +14,19 @@ import static java.lang.String.format;
 @Slf4j
 public class CustomUserDetailService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
-    public CustomUserDetailService(UserRepository userRepository) {
+    public CustomUserDetailService(UserRepository userRepository, PrincipalCache principalCache) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
 
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return principalCache.get(email, this::loadFromDatabase);
+    }
+
+    private UserPrincipal loadFromDatabase(String email) {
         User User = userRepository.findByEmail(email).orElseThrow(
                 () ->  new UsernameNotFoundException(format("User not found with email %s", email)));
         return UserPrincipal.create(User);
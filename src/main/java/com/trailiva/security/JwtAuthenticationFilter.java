@@ -1,10 +1,14 @@
 package com.trailiva.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,39 +18,93 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    @Autowired
-    private CustomUserDetailService customUserDetailService;
+public class JwtAuthenticationFilter extends OncePerRequestFilter implements MeterBinder {
+    private final CustomUserDetailService customUserDetailService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final RouteTable routeTable;
+    private final boolean stateless;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
 
-    @Autowired
-    private JwtTokenProvider jwtTokenProvider;
+    public JwtAuthenticationFilter(CustomUserDetailService customUserDetailService,
+                                   JwtTokenProvider jwtTokenProvider,
+                                   TokenRevocationList tokenRevocationList,
+                                   RouteTable routeTable,
+                                   @Value("${trailiva.security.jwt.stateless:true}") boolean stateless) {
+        this.customUserDetailService = customUserDetailService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.routeTable = routeTable;
+        this.stateless = stateless;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routeTable.resolve(request).getAccess() == RouteTable.Access.PUBLIC;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest httpServletRequest,
                                     HttpServletResponse httpServletResponse,
                                     FilterChain filterChain) throws ServletException, IOException {
-        String email = null;
+        long start = System.nanoTime();
+        String outcome = authenticate(httpServletRequest, httpServletResponse);
+        record(routeTable.resolve(httpServletRequest).getName(), outcome, System.nanoTime() - start);
+        filterChain.doFilter(httpServletRequest, httpServletResponse);
+    }
+
+    private String authenticate(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse) {
         String jwtToken = getJwtTokenFromRequest(httpServletRequest);
-        if (jwtToken != null) {
-            email = jwtTokenProvider.extractEmail(jwtToken);
+        if (jwtToken == null) return "anonymous";
+
+        Optional<VerifiedToken> verifiedToken = jwtTokenProvider.verify(jwtToken);
+        if (verifiedToken.isEmpty() || verifiedToken.get().getSubject() == null) {
+            httpServletResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return "rejected";
         }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) return "authenticated";
+        try {
+            UserDetails userDetails = resolvePrincipal(verifiedToken.get());
+            UsernamePasswordAuthenticationToken authenticationToken
+                    = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            return "authenticated";
+        } catch (UsernameNotFoundException e) {
+            httpServletResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return "rejected";
+        }
+    }
+
+    private void record(String route, String outcome, long nanos) {
+        MeterRegistry meterRegistry = registry;
+        if (meterRegistry == null) return;
+        timers.computeIfAbsent(route + ':' + outcome, key -> Timer.builder("trailiva.security.authentication")
+                .tag("route", route)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailService.loadUserByUsername(email);
-
-            if (jwtTokenProvider.validateToken(jwtToken, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken
-                        = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-            }else{
-                httpServletResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            }
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        if (stateless && JwtTokenProvider.hasPrincipalClaims(token)
+                && !tokenRevocationList.isRevoked(token.getSubject(), token.getIssuedAt())) {
+            return UserPrincipal.create(token);
         }
-        filterChain.doFilter(httpServletRequest, httpServletResponse);
+        return customUserDetailService.loadUserByUsername(token.getSubject());
     }
 
     private String getJwtTokenFromRequest(HttpServletRequest httpServletRequest) {
@@ -0,0 +1,93 @@
+package com.trailiva.security;
+
+import com.trailiva.util.AppConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Signing keys for JWTs, rotated every {@code trailiva.security.jwt.key-rotation-hours}.
+ * Each key is derived from the master secret and its rotation epoch, so every node computes
+ * the same key ring without coordination. Previous keys stay valid for as long as a token
+ * signed with them can live, and tokens without a {@code kid} header fall back to the
+ * original secret.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final byte[] masterSecret;
+    private final long rotationMillis;
+    private final long overlapEpochs;
+    private final SigningKey legacyKey;
+
+    private volatile Map<String, SigningKey> keys = Collections.emptyMap();
+    private volatile SigningKey activeKey;
+
+    public JwtKeyRing(@Value("${trailiva.security.jwt.secret:" + AppConstants.JWT_SECRET + "}") String secret,
+                      @Value("${trailiva.security.jwt.key-rotation-hours:24}") long rotationHours) {
+        this.masterSecret = secret.getBytes(StandardCharsets.UTF_8);
+        this.rotationMillis = rotationHours * 60 * 60 * 1000;
+        this.overlapEpochs = (AppConstants.JWT_REFRESH_TOKEN_EXPIRATION_IN_MS + rotationMillis - 1) / rotationMillis;
+        this.legacyKey = new SigningKey(null, -1, new SecretKeySpec(legacyKeyBytes(secret), ALGORITHM));
+        rotate();
+    }
+
+    @Scheduled(fixedDelayString = "${trailiva.security.jwt.key-check-interval-ms:60000}")
+    public void rotate() {
+        long epoch = System.currentTimeMillis() / rotationMillis;
+        if (activeKey != null && activeKey.getEpoch() == epoch) return;
+
+        Map<String, SigningKey> ring = new HashMap<>();
+        for (long e = epoch - overlapEpochs; e <= epoch + 1; e++) {
+            String kid = kidFor(e);
+            SigningKey key = keys.get(kid);
+            ring.put(kid, key != null ? key : derive(kid, e));
+        }
+        keys = Collections.unmodifiableMap(ring);
+        activeKey = ring.get(kidFor(epoch));
+        log.info("Jwt signing key rotated to {}", activeKey.getKid());
+    }
+
+    public SigningKey activeKey() {
+        return activeKey;
+    }
+
+    public SigningKey find(String kid) {
+        return kid == null ? legacyKey : keys.get(kid);
+    }
+
+    private SigningKey derive(String kid, long epoch) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(masterSecret, ALGORITHM));
+            byte[] keyBytes = mac.doFinal(("trailiva-jwt-" + epoch).getBytes(StandardCharsets.UTF_8));
+            return new SigningKey(kid, epoch, new SecretKeySpec(keyBytes, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to derive jwt signing key", e);
+        }
+    }
+
+    private static byte[] legacyKeyBytes(String secret) {
+        try {
+            return Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException e) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String kidFor(long epoch) {
+        return "k" + epoch;
+    }
+}
@@ -1,60 +1,162 @@
 package com.trailiva.security;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.trailiva.util.AppConstants;
+import com.trailiva.util.Helper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
-public class JwtTokenProvider {
+public class JwtTokenProvider implements MeterBinder {
+    static final String USER_ID_CLAIM = "uid";
+    static final String ENABLED_CLAIM = "enabled";
+    static final String ROLES_CLAIM = "roles";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<Map<String, Object>>() {};
+    private static final Base64.Decoder base64Url = Base64.getUrlDecoder();
+
+    private final JwtKeyRing keyRing;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenProvider(JwtKeyRing keyRing,
+                            @Value("${trailiva.security.jwt.verified-cache.max-size:10000}") long maximumSize,
+                            @Value("${trailiva.security.jwt.verified-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.keyRing = keyRing;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
 
     public String generateToken(UserPrincipal fetchedUser) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, fetchedUser.getId());
+        claims.put(ENABLED_CLAIM, fetchedUser.isEnabled());
+        if (fetchedUser.getAuthorities() != null) {
+            claims.put(ROLES_CLAIM, fetchedUser.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .collect(Collectors.toList()));
+        }
         return createToken(claims, fetchedUser.getEmail());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
+        SigningKey signingKey = keyRing.activeKey();
         return Jwts.builder()
+                .setHeaderParam("kid", signingKey.getKid())
                 .setClaims(claims).setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
 //                // Jwt expiration time is 10hr after jwt is issued
                 .setExpiration(new Date(System.currentTimeMillis() + AppConstants.JWT_REFRESH_TOKEN_EXPIRATION_IN_MS))
-                .signWith(SignatureAlgorithm.HS256, AppConstants.JWT_SECRET).compact();
+                .signWith(SignatureAlgorithm.HS256, signingKey.getSecretKey()).compact();
+    }
+
+    /**
+     * Verifies the signature and expiry of a token exactly once. Tokens seen recently are
+     * answered from a short lived cache keyed by the token hash without any crypto work.
+     */
+    public Optional<VerifiedToken> verify(String jwtToken) {
+        String tokenHash = Helper.hashToken(jwtToken);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(tokenHash);
+        if (verifiedToken == null) {
+            try {
+                verifiedToken = new VerifiedToken(extractAllClaims(jwtToken));
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected jwt token: {}", e.getMessage());
+                return Optional.empty();
+            }
+            verifiedTokens.put(tokenHash, verifiedToken);
+        }
+        return verifiedToken.isExpired() ? Optional.empty() : Optional.of(verifiedToken);
+    }
+
+    public static boolean hasPrincipalClaims(VerifiedToken token) {
+        return token.getClaim(USER_ID_CLAIM) != null && token.getClaim(ROLES_CLAIM) != null;
     }
 
     public String extractEmail(String jwtToken) {
-        return extractClaim(jwtToken, Claims::getSubject);
+        return extractAllClaims(jwtToken).getSubject();
     }
 
-    private <T> T extractClaim(String jwtToken, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaim(jwtToken);
-        return claimsResolver.apply(claims);
+    /**
+     * Checks the HS256 signature with the key named by the {@code kid} header: one map lookup
+     * and one MAC computed on a per thread, pre-initialised {@link javax.crypto.Mac}.
+     */
+    private Claims extractAllClaims(String jwtToken) {
+        int headerEnd = jwtToken.indexOf('.');
+        int payloadEnd = jwtToken.lastIndexOf('.');
+        if (headerEnd <= 0 || headerEnd == payloadEnd)
+            throw new MalformedJwtException("Jwt token must contain a header, a payload and a signature");
+
+        Map<String, Object> header = readJson(jwtToken.substring(0, headerEnd));
+        if (!SignatureAlgorithm.HS256.getValue().equals(header.get("alg")))
+            throw new UnsupportedJwtException("Unsupported jwt algorithm " + header.get("alg"));
+
+        Object kid = header.get("kid");
+        if (kid != null && !(kid instanceof String))
+            throw new MalformedJwtException("Jwt kid header must be a string");
+        SigningKey signingKey = keyRing.find((String) kid);
+        if (signingKey == null) throw new SignatureException("Unknown jwt signing key " + kid);
+
+        byte[] expected = signingKey.sign(jwtToken.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII));
+        byte[] actual = base64Url.decode(jwtToken.substring(payloadEnd + 1));
+        if (!MessageDigest.isEqual(expected, actual))
+            throw new SignatureException("Jwt signature does not match");
+
+        return new DefaultClaims(readJson(jwtToken.substring(headerEnd + 1, payloadEnd)));
     }
 
-    private Claims extractAllClaim(String jwtToken) {
-        return Jwts.parser().setSigningKey(AppConstants.JWT_SECRET)
-                .parseClaimsJws(jwtToken).getBody();
+    private static Map<String, Object> readJson(String base64UrlJson) {
+        try {
+            return objectMapper.readValue(base64Url.decode(base64UrlJson), JSON_OBJECT);
+        } catch (IOException e) {
+            throw new MalformedJwtException("Unable to read jwt json", e);
+        }
     }
 
     public boolean validateToken(String token, UserDetails user) {
-        final String email = extractEmail(token);
-        return (email.equals(user.getUsername()) && !isTokenExpired(token));
+        return verify(token)
+                .map(verifiedToken -> verifiedToken.getSubject().equals(user.getUsername()))
+                .orElse(false);
     }
 
     public boolean isTokenExpired(String token) {
-        return extractExpirationDate(token).before(new Date(System.currentTimeMillis()));
+        return verify(token).isEmpty();
     }
 
-    private Date extractExpirationDate(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verifiedTokens");
     }
 }
@@ -0,0 +1,59 @@
+package com.trailiva.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.trailiva.event.UserAccessChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL based cache of {@link UserPrincipal}s keyed by email, so that an
+ * authenticated request does not have to hit the database to rebuild its principal.
+ * Entries are dropped once the owning transaction commits a {@link UserAccessChangedEvent}.
+ */
+@Component
+@Slf4j
+public class PrincipalCache implements MeterBinder {
+    private final Cache<String, UserPrincipal> principals;
+
+    public PrincipalCache(@Value("${trailiva.security.principal-cache.max-size:10000}") long maximumSize,
+                          @Value("${trailiva.security.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        return principals.get(email, loader);
+    }
+
+    public void invalidate(String email) {
+        if (email != null) principals.invalidate(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        log.debug("Evicting cached principal for {}", event.getEmail());
+        invalidate(event.getEmail());
+    }
+
+    public CacheStats stats() {
+        return principals.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, principals, "principals");
+    }
+}
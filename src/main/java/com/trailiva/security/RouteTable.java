@@ -0,0 +1,103 @@
+package com.trailiva.security;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precompiled table of the API routes and how much authentication each needs. Shared by
+ * {@link SecurityConfig} for {@code permitAll} and by {@link JwtAuthenticationFilter} to skip
+ * token work entirely on public routes. The first matching route wins.
+ */
+@Component
+public class RouteTable {
+    private static final String ROUTE_ATTRIBUTE = RouteTable.class.getName() + ".route";
+    private static final Route OTHER = new Route("other", null, null, Access.AUTHENTICATED);
+
+    public enum Access {
+        /** No token is read at all. */
+        PUBLIC,
+        /** Anyone may call it, but a token is still read so the handler can see the caller. */
+        OPTIONAL,
+        AUTHENTICATED
+    }
+
+    private final List<Route> routes;
+
+    public RouteTable(@Value("${trailiva.security.public-api-docs:false}") boolean publicApiDocs) {
+        List<Route> table = new ArrayList<>();
+        table.add(route("auth", null, "/api/v1/trailiva/auth/**", Access.PUBLIC));
+        table.add(route("users", HttpMethod.GET, "/api/v1/trailiva/users/**", Access.OPTIONAL));
+        table.add(route("users", null, "/api/v1/trailiva/users/**", Access.AUTHENTICATED));
+        table.add(route("tasks", null, "/api/v1/trailiva/tasks/**", Access.AUTHENTICATED));
+        table.add(route("projects", null, "/api/v1/trailiva/projects/**", Access.AUTHENTICATED));
+        table.add(route("personal", null, "/api/v1/trailiva/personal/**", Access.AUTHENTICATED));
+        table.add(route("official", null, "/api/v1/trailiva/official/**", Access.AUTHENTICATED));
+        if (publicApiDocs) {
+            table.add(route("api-docs", HttpMethod.GET, "/swagger-ui.html", Access.PUBLIC));
+            table.add(route("api-docs", HttpMethod.GET, "/swagger-ui/**", Access.PUBLIC));
+            table.add(route("api-docs", HttpMethod.GET, "/swagger-resources/**", Access.PUBLIC));
+            table.add(route("api-docs", HttpMethod.GET, "/v2/api-docs", Access.PUBLIC));
+            table.add(route("api-docs", HttpMethod.GET, "/webjars/**", Access.PUBLIC));
+        }
+        this.routes = Collections.unmodifiableList(table);
+    }
+
+    private static Route route(String name, HttpMethod method, String pattern, Access access) {
+        return new Route(name, method, PathPatternParser.defaultInstance.parse(pattern), access);
+    }
+
+    /**
+     * Resolves the route of a request once and remembers it on the request.
+     */
+    public Route resolve(HttpServletRequest request) {
+        Object cached = request.getAttribute(ROUTE_ATTRIBUTE);
+        if (cached instanceof Route) return (Route) cached;
+
+        String uri = request.getRequestURI();
+        PathContainer path = PathContainer.parsePath(uri.substring(Math.min(request.getContextPath().length(), uri.length())));
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        Route resolved = OTHER;
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                resolved = route;
+                break;
+            }
+        }
+        request.setAttribute(ROUTE_ATTRIBUTE, resolved);
+        return resolved;
+    }
+
+    public RequestMatcher permitAll() {
+        return request -> resolve(request).getAccess() != Access.AUTHENTICATED;
+    }
+
+    @Getter
+    public static final class Route {
+        private final String name;
+        private final HttpMethod method;
+        private final PathPattern pattern;
+        private final Access access;
+
+        private Route(String name, HttpMethod method, PathPattern pattern, Access access) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.access = access;
+        }
+
+        private boolean matches(HttpMethod requestMethod, PathContainer path) {
+            return (method == null || method == requestMethod) && pattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.trailiva.security;
+
+import lombok.Getter;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+
+/**
+ * A decoded HMAC key together with a per thread {@link Mac} already initialised with it,
+ * so signing or verifying does not allocate a new Mac on every call.
+ */
+@Getter
+public final class SigningKey {
+    private final String kid;
+    private final long epoch;
+    private final SecretKey secretKey;
+    private final ThreadLocal<Mac> macs;
+
+    SigningKey(String kid, long epoch, SecretKey secretKey) {
+        this.kid = kid;
+        this.epoch = epoch;
+        this.secretKey = secretKey;
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public byte[] sign(byte[] content) {
+        return macs.get().doFinal(content);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(secretKey.getAlgorithm());
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + secretKey.getAlgorithm(), e);
+        }
+    }
+}
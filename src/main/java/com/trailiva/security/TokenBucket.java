@@ -0,0 +1,34 @@
+package com.trailiva.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free token bucket. The whole state is a single "next free slot" timestamp, so taking
+ * a token is one compare-and-set: a bucket of {@code capacity} tokens refilled over
+ * {@code refillPeriod} admits a request while that timestamp is less than a full burst ahead.
+ */
+final class TokenBucket {
+    private final AtomicLong nextFreeNanos;
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    TokenBucket(int capacity, Duration refillPeriod, long nowNanos) {
+        this.intervalNanos = Math.max(1, refillPeriod.toNanos() / capacity);
+        this.burstNanos = intervalNanos * capacity;
+        this.nextFreeNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanos until the next token is available
+     */
+    long tryAcquire(long nowNanos) {
+        for (;;) {
+            long current = nextFreeNanos.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) return ahead - burstNanos;
+            if (nextFreeNanos.compareAndSet(current, next)) return 0;
+        }
+    }
+}
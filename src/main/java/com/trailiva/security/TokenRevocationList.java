@@ -0,0 +1,37 @@
+package com.trailiva.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trailiva.event.UserAccessChangedEvent;
+import com.trailiva.util.AppConstants;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Remembers when a user's access last changed, so tokens carrying claims issued before
+ * that moment are no longer trusted and the principal is rebuilt from the database instead.
+ */
+@Component
+public class TokenRevocationList {
+    private final Cache<String, Long> revokedAt = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMillis(AppConstants.JWT_REFRESH_TOKEN_EXPIRATION_IN_MS))
+            .build();
+
+    public void revoke(String email) {
+        if (email != null) revokedAt.put(email, System.currentTimeMillis());
+    }
+
+    public boolean isRevoked(String email, Date issuedAt) {
+        Long cutoff = revokedAt.getIfPresent(email);
+        if (cutoff == null) return false;
+        return issuedAt == null || issuedAt.getTime() <= cutoff;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        revoke(event.getEmail());
+    }
+}
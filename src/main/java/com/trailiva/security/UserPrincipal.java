@@ -29,7 +29,7 @@ public class UserPrincipal implements UserDetails {
 
 
 
-    public static UserDetails create(User User) {
+    public static UserPrincipal create(User User) {
         List<GrantedAuthority> authorities = User.getRoles().stream().map(role ->
                 new SimpleGrantedAuthority(role.getName())
         ).collect(Collectors.toList());
@@ -45,6 +45,19 @@ public class UserPrincipal implements UserDetails {
         );
     }
 
+    public static UserPrincipal create(VerifiedToken token) {
+        List<?> roles = (List<?>) token.getClaim(JwtTokenProvider.ROLES_CLAIM);
+        List<GrantedAuthority> authorities = roles.stream().map(role ->
+                new SimpleGrantedAuthority(String.valueOf(role))
+        ).collect(Collectors.toList());
+        UserPrincipal principal = new UserPrincipal();
+        principal.setId(((Number) token.getClaim(JwtTokenProvider.USER_ID_CLAIM)).longValue());
+        principal.setEmail(token.getSubject());
+        principal.setEnabled(Boolean.TRUE.equals(token.getClaim(JwtTokenProvider.ENABLED_CLAIM)));
+        principal.setAuthorities(authorities);
+        return principal;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,36 @@
+package com.trailiva.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of verifying a JWT once: the signature has been checked and the
+ * registered claims are already extracted, so callers never need to parse the token again.
+ */
+@Getter
+public final class VerifiedToken {
+    private final String subject;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    public VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = Collections.unmodifiableMap(new HashMap<>(claims));
+    }
+
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() < System.currentTimeMillis();
+    }
+}
@@ -1,10 +1,12 @@
 package com.trailiva.service;
 
+import com.trailiva.data.model.RefreshToken;
 import com.trailiva.data.model.Token;
 import com.trailiva.data.model.User;
 import com.trailiva.data.repository.RoleRepository;
 import com.trailiva.data.repository.TokenRepository;
 import com.trailiva.data.repository.UserRepository;
+import com.trailiva.event.UserAccessChangedEvent;
 import com.trailiva.security.CustomUserDetailService;
 import com.trailiva.security.JwtTokenProvider;
 import com.trailiva.security.UserPrincipal;
@@ -16,18 +18,18 @@ import com.trailiva.web.payload.response.TokenResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static com.trailiva.data.model.TokenType.*;
@@ -48,7 +50,7 @@ public class AuthServiceImpl implements AuthService {
 
     private final CustomUserDetailService customUserDetailService;
 
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     private final JwtTokenProvider jwtTokenProvider;
 
@@ -57,6 +59,10 @@ public class AuthServiceImpl implements AuthService {
 
     private final TokenRepository tokenRepository;
 
+    private final RefreshTokenService refreshTokenService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public User registerNewUserAccount(UserRequest userRequest) throws AuthException {
@@ -75,7 +81,6 @@ public class AuthServiceImpl implements AuthService {
 //        emailService.sendUserVerificationEmail(emailRequest);
 //    }
 
-    @Transactional
     @Override
     public JwtTokenResponse login(LoginRequest loginRequest) {
         final Authentication authentication = authenticationManager.authenticate(
@@ -88,8 +93,7 @@ public class AuthServiceImpl implements AuthService {
         final UserPrincipal userDetails = (UserPrincipal) customUserDetailService.loadUserByUsername(loginRequest.getEmail());
         final String jwtToken = jwtTokenProvider.generateToken(userDetails);
         User User = internalFindUserByEmail(loginRequest.getEmail());
-        Token refreshToken = new Token(User);
-        tokenRepository.save(refreshToken);
+        RefreshToken refreshToken = refreshTokenService.issue(User);
         return new JwtTokenResponse(jwtToken, refreshToken.getToken(), User.getEmail());
     }
 
@@ -106,6 +110,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public void confirmVerificationToken(String verificationToken) throws TokenException {
         Token vToken = getToken(verificationToken, VERIFICATION.toString());
 
@@ -116,6 +121,7 @@ public class AuthServiceImpl implements AuthService {
         User.setEnabled(true);
         saveAUser(User);
         tokenRepository.delete(vToken);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(this, User.getEmail()));
     }
 
     @Override
@@ -152,21 +158,14 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional(noRollbackFor = TokenException.class)
     public JwtTokenResponse refreshToken(TokenRefreshRequest request) throws TokenException {
-        String requestRefreshToken = request.getRefreshToken();
-        Optional<Token> refreshToken = tokenRepository.findByTokenAndTokenType(requestRefreshToken, REFRESH.toString());
-        if (refreshToken.isPresent()) {
-            Token token = getRefreshToken(refreshToken.get());
-            String jwtToken = jwtTokenProvider.generateToken((UserPrincipal)
-                    customUserDetailService.loadUserByUsername(token.getUser().getEmail()));
-            return new JwtTokenResponse(jwtToken, requestRefreshToken, token.getUser().getEmail());
-        } else throw new TokenException("Invalid refresh token");
-    }
-
-    private Token getRefreshToken(Token token) throws TokenException {
-        if (!isValidToken(token.getExpiryDate()))
-            return token;
-        else throw new TokenException("Refresh token was expired. Please make a new sign in request");
+        if (isNullOrEmpty(request.getRefreshToken())) throw new TokenException("Invalid refresh token");
+        RefreshToken refreshToken = refreshTokenService.rotate(request.getRefreshToken());
+        String email = refreshToken.getUser().getEmail();
+        String jwtToken = jwtTokenProvider.generateToken((UserPrincipal)
+                customUserDetailService.loadUserByUsername(email));
+        return new JwtTokenResponse(jwtToken, refreshToken.getToken(), email);
     }
 
 
@@ -176,6 +175,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
+    @Transactional
     public void saveResetPassword(PasswordRequest request) throws TokenException, AuthException {
         if (isNullOrEmpty(request.getToken())) throw new AuthException("Password must cannot be blank");
         Token pToken = getToken(request.getToken(), PASSWORD_RESET.toString());
@@ -183,6 +183,7 @@ public class AuthServiceImpl implements AuthService {
         userToChangePassword.setPassword(passwordEncoder.encode(request.getPassword()));
         saveAUser(userToChangePassword);
         tokenRepository.delete(pToken);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(this, userToChangePassword.getEmail()));
     }
 
 }
@@ -0,0 +1,12 @@
+package com.trailiva.service;
+
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.exceptions.ProjectException;
+import com.trailiva.web.payload.request.TaskOperation;
+import com.trailiva.web.payload.response.TaskOperationResult;
+
+import java.util.List;
+
+public interface BulkTaskService {
+    List<TaskOperationResult> apply(Long projectId, List<TaskOperation> operations, Long userId) throws ProjectException, BadRequestException;
+}
@@ -0,0 +1,155 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.Priority;
+import com.trailiva.data.model.Project;
+import com.trailiva.data.model.Tab;
+import com.trailiva.data.model.Task;
+import com.trailiva.data.repository.ProjectRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.util.Helper;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.exceptions.ProjectException;
+import com.trailiva.web.payload.request.TaskOperation;
+import com.trailiva.web.payload.response.TaskOperationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies bulk task operations in chunks, one transaction per chunk, so Hibernate can send each
+ * chunk's inserts and updates as JDBC batches. Operations that cannot be applied fail on their own.
+ * If a chunk's flush hits a constraint, the chunk is rolled back and replayed one operation per
+ * transaction, so only the offending operation fails.
+ */
+@Service
+@Slf4j
+public class BulkTaskServiceImpl implements BulkTaskService {
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskFactory taskFactory;
+    private final TaskParticipants taskParticipants;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxOperations;
+
+    public BulkTaskServiceImpl(TaskRepository taskRepository,
+                               ProjectRepository projectRepository,
+                               TaskFactory taskFactory,
+                               TaskParticipants taskParticipants,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${trailiva.task.bulk.chunk-size:50}") int chunkSize,
+                               @Value("${trailiva.task.bulk.max-operations:500}") int maxOperations) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskFactory = taskFactory;
+        this.taskParticipants = taskParticipants;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxOperations = maxOperations;
+    }
+
+    @Override
+    public List<TaskOperationResult> apply(Long projectId, List<TaskOperation> operations, Long userId) throws ProjectException, BadRequestException {
+        if (operations == null || operations.isEmpty()) throw new BadRequestException("No task operation to apply");
+        if (operations.size() > maxOperations)
+            throw new BadRequestException("A bulk request cannot have more than " + maxOperations + " operations");
+        if (!projectRepository.existsById(projectId)) throw new ProjectException("Project not found");
+
+        List<TaskOperationResult> results = new ArrayList<>(operations.size());
+        for (int from = 0; from < operations.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, operations.size());
+            results.addAll(applyChunk(projectId, operations, userId, from, to));
+        }
+        return results;
+    }
+
+    private List<TaskOperationResult> applyChunk(Long projectId, List<TaskOperation> operations, Long userId, int from, int to) {
+        try {
+            return transactionTemplate.execute(status -> applyInTransaction(projectId, operations, userId, from, to));
+        } catch (DataIntegrityViolationException e) {
+            if (to - from == 1) {
+                String message = TaskFactory.isDuplicateName(e) ? "This task already exist" : "Task could not be saved";
+                return List.of(TaskOperationResult.failure(from, operations.get(from).getTaskId(), message));
+            }
+            log.debug("Replaying bulk chunk {}..{} of project {} item by item", from, to, projectId);
+            List<TaskOperationResult> results = new ArrayList<>(to - from);
+            for (int index = from; index < to; index++) {
+                results.addAll(applyChunk(projectId, operations, userId, index, index + 1));
+            }
+            return results;
+        }
+    }
+
+    private List<TaskOperationResult> applyInTransaction(Long projectId, List<TaskOperation> operations, Long userId, int from, int to) {
+        Project project = projectRepository.getById(projectId);
+        Set<Long> ids = operations.subList(from, to).stream()
+                .map(TaskOperation::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .filter(task -> task.getProject() != null && projectId.equals(task.getProject().getProjectId()))
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskOperationResult> results = new ArrayList<>(to - from);
+        List<Task> created = new ArrayList<>();
+        List<Integer> createdPositions = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (int index = from; index < to; index++) {
+            TaskOperation operation = operations.get(index);
+            String error = validate(operation, tasks, names);
+            if (error != null) {
+                results.add(TaskOperationResult.failure(index, operation.getTaskId(), error));
+                continue;
+            }
+            switch (operation.getType()) {
+                case CREATE:
+                    Task task = taskFactory.newTask(operation.getTask(), project);
+                    created.add(task);
+                    createdPositions.add(results.size());
+                    results.add(null);
+                    continue;
+                case MOVE:
+                    tasks.get(operation.getTaskId()).setTab(Tab.tabMapper(operation.getTab()).toString());
+                    break;
+                case PRIORITIZE:
+                    tasks.get(operation.getTaskId()).setPriority(Priority.fetchPriority(operation.getPriority()).toString());
+                    break;
+                case DELETE:
+                    taskRepository.delete(tasks.remove(operation.getTaskId()));
+                    break;
+            }
+            results.add(TaskOperationResult.success(index, operation.getTaskId()));
+        }
+        taskRepository.saveAll(created);
+        taskRepository.flush();
+        taskParticipants.created(created.stream().map(Task::getId).collect(Collectors.toList()), userId);
+        for (int i = 0; i < created.size(); i++) {
+            int position = createdPositions.get(i);
+            results.set(position, TaskOperationResult.success(from + position, created.get(i).getId()));
+        }
+        return results;
+    }
+
+    private static String validate(TaskOperation operation, Map<Long, Task> tasks, Set<String> names) {
+        if (operation == null || operation.getType() == null) return "Operation type is required";
+        if (operation.getType() == TaskOperation.Type.CREATE) {
+            if (operation.getTask() == null || Helper.isNullOrEmpty(operation.getTask().getName()))
+                return "task name cannot be blank";
+            if (!names.add(Task.nameKey(operation.getTask().getName()))) return "This task already exist";
+            return null;
+        }
+        if (operation.getTaskId() == null || !tasks.containsKey(operation.getTaskId())) return "Task not found";
+        if (operation.getType() == TaskOperation.Type.MOVE && Helper.isNullOrEmpty(operation.getTab()))
+            return "Tab is required";
+        if (operation.getType() == TaskOperation.Type.PRIORITIZE && Helper.isNullOrEmpty(operation.getPriority()))
+            return "Priority is required";
+        return null;
+    }
+}
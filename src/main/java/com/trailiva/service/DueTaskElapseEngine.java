@@ -0,0 +1,203 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.DueTask;
+import com.trailiva.data.projection.ElapsedTask;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.TaskElapsedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+
+/**
+ * Marks tasks elapsed shortly after their due date passes instead of in one daily table-wide update.
+ * <p>
+ * Pending tasks due within the next {@code horizon-days} sit in a wheel of per-day buckets, loaded
+ * through a partial index on pending due dates and kept current from committed task changes. Every
+ * tick the buckets before today are flipped in small transactions of at most {@code batch-size}
+ * rows, each publishing a {@link TaskElapsedEvent} per task. {@link #reconcile()} sweeps whatever
+ * the wheel missed, such as rows changed outside JPA.
+ */
+@Component
+@Slf4j
+public class DueTaskElapseEngine implements MeterBinder {
+    private static final String PENDING_DUE_INDEX = "create index if not exists idx_task_pending_due " +
+            "on task (due_date) where elapse = false";
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int horizonDays;
+
+    private final ConcurrentSkipListMap<LocalDate, Set<Long>> wheel = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, LocalDate> scheduled = new ConcurrentHashMap<>();
+    private volatile LocalDate loadedUntil;
+    private Counter elapsedCounter;
+    private Timer elapseLag;
+
+    @Autowired
+    public DueTaskElapseEngine(TaskRepository taskRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               JdbcTemplate jdbcTemplate,
+                               @Value("${trailiva.task.elapse.batch-size:500}") int batchSize,
+                               @Value("${trailiva.task.elapse.horizon-days:7}") int horizonDays) {
+        this(taskRepository, new TransactionTemplate(transactionManager), eventPublisher, jdbcTemplate,
+                Clock.systemDefaultZone(), batchSize, horizonDays);
+    }
+
+    DueTaskElapseEngine(TaskRepository taskRepository, TransactionTemplate transactionTemplate,
+                        ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+                        Clock clock, int batchSize, int horizonDays) {
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.horizonDays = horizonDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (jdbcTemplate != null) jdbcTemplate.execute(PENDING_DUE_INDEX);
+        LocalDate until = LocalDate.now(clock).plusDays(horizonDays);
+        List<DueTask> pending = taskRepository.findPendingDueBefore(until);
+        pending.forEach(task -> schedule(task.getId(), task.getDueDate()));
+        loadedUntil = until;
+        log.info("Scheduled {} pending tasks due before {}", pending.size(), until);
+    }
+
+    @Scheduled(fixedDelayString = "${trailiva.task.elapse.tick-ms:10000}")
+    public void tick() {
+        if (loadedUntil == null) return;
+        LocalDate today = LocalDate.now(clock);
+        extendHorizon(today);
+
+        NavigableMap<LocalDate, Set<Long>> due = wheel.headMap(today, false);
+        if (due.isEmpty()) return;
+        List<Long> ids = new ArrayList<>();
+        due.values().forEach(ids::addAll);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            elapse(() -> taskRepository.elapseTasks(batch, today));
+            batch.forEach(this::unschedule);
+        }
+        due.entrySet().removeIf(bucket -> bucket.getValue().isEmpty());
+    }
+
+    /**
+     * Flips every overdue pending task, batch by batch, whether or not it was in the wheel.
+     */
+    public int reconcile() {
+        LocalDate today = LocalDate.now(clock);
+        int total = 0;
+        int flipped;
+        do {
+            flipped = elapse(() -> taskRepository.elapseOverdueTasks(today, batchSize));
+            total += flipped;
+        } while (flipped == batchSize);
+        return total;
+    }
+
+    private void extendHorizon(LocalDate today) {
+        LocalDate until = today.plusDays(horizonDays);
+        if (!until.isAfter(loadedUntil)) return;
+        taskRepository.findPendingDueBetween(loadedUntil, until).forEach(task -> schedule(task.getId(), task.getDueDate()));
+        loadedUntil = until;
+    }
+
+    private int elapse(Supplier<List<ElapsedTask>> update) {
+        Integer count = transactionTemplate.execute(status -> {
+            List<ElapsedTask> rows = update.get();
+            for (ElapsedTask row : rows) {
+                eventPublisher.publishEvent(new TaskElapsedEvent(this, row.getId(), row.getProjectId(), row.getDueDate()));
+            }
+            return rows.size();
+        });
+        int elapsed = count == null ? 0 : count;
+        if (elapsedCounter != null) elapsedCounter.increment(elapsed);
+        return elapsed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getCurrent() == null || event.getCurrent().isElapse() || event.getCurrent().getDueDate() == null) {
+            unschedule(event.getTaskId());
+        } else if (loadedUntil != null && event.getCurrent().getDueDate().isBefore(loadedUntil)) {
+            schedule(event.getTaskId(), event.getCurrent().getDueDate());
+        } else {
+            unschedule(event.getTaskId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskElapsed(TaskElapsedEvent event) {
+        unschedule(event.getTaskId());
+        if (elapseLag != null && event.getDueDate() != null) {
+            Duration lag = Duration.between(event.getDueDate().plusDays(1).atStartOfDay(clock.getZone()).toInstant(), clock.instant());
+            if (!lag.isNegative()) elapseLag.record(lag);
+        }
+    }
+
+    private void schedule(Long taskId, LocalDate dueDate) {
+        scheduled.compute(taskId, (id, previous) -> {
+            if (previous != null && !previous.equals(dueDate)) bucket(previous).remove(id);
+            bucket(dueDate).add(id);
+            return dueDate;
+        });
+    }
+
+    private void unschedule(Long taskId) {
+        scheduled.computeIfPresent(taskId, (id, previous) -> {
+            bucket(previous).remove(id);
+            return null;
+        });
+    }
+
+    private Set<Long> bucket(LocalDate dueDate) {
+        return wheel.computeIfAbsent(dueDate, date -> ConcurrentHashMap.newKeySet());
+    }
+
+    public int scheduledCount() {
+        return scheduled.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("trailiva.task.elapse.scheduled", scheduled, Map::size)
+                .description("Pending tasks held in the due date wheel")
+                .register(registry);
+        elapsedCounter = Counter.builder("trailiva.task.elapsed")
+                .description("Tasks marked elapsed")
+                .register(registry);
+        elapseLag = Timer.builder("trailiva.task.elapse.lag")
+                .description("Delay between a task falling due and it being marked elapsed")
+                .register(registry);
+    }
+}
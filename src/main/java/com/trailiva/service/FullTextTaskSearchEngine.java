@@ -0,0 +1,55 @@
+package com.trailiva.service;
+
+import com.trailiva.data.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Searches the task search_vector column (see {@link com.trailiva.event.SetupTaskSearchVector})
+ * through its GIN index. Every word of the text is matched as a prefix and results are ranked
+ * with ts_rank, name matches weighing more than description matches.
+ */
+@Service
+@ConditionalOnProperty(name = "trailiva.search.engine", havingValue = "full-text")
+public class FullTextTaskSearchEngine implements TaskSearchEngine {
+    private static final int MAX_TERMS = 8;
+
+    private final TaskRepository taskRepository;
+
+    public FullTextTaskSearchEngine(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public List<Long> search(String text, int page, int size) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) return List.of();
+        return taskRepository.searchFullText(query, size, (long) page * size).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count(String text) {
+        String query = toPrefixQuery(text);
+        return query.isEmpty() ? 0 : taskRepository.countFullText(query);
+    }
+
+    /**
+     * Turns free text into a tsquery such as {@code fix:* & login:*}. Only letters and digits are
+     * kept, so user input can never produce tsquery syntax errors.
+     */
+    static String toPrefixQuery(String text) {
+        if (text == null) return "";
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
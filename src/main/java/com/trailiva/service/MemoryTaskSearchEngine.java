@@ -0,0 +1,278 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * In-process inverted index over task name, reference and description, for nodes that mostly
+ * serve reads. It is built from the database in parallel id-range batches once the application
+ * is ready and then follows committed {@link TaskChangedEvent}s. Until a build has completed the
+ * engine reports itself not ready and search keeps using the LIKE specifications.
+ * <p>
+ * Events only cover changes made through JPA on this node, so every {@code refresh-ms} the index
+ * also re-reads tasks updated since the last refresh and drops tasks that no longer exist. Writes
+ * from other nodes, and SQL updates that touch {@code updated_at}, are visible within one refresh.
+ * <p>
+ * Every query word matches indexed terms by prefix. A task must match every word, and it scores
+ * the weight of the best field each word hit, doubled for whole-word hits. Results are ordered by
+ * score, then by id.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "trailiva.search.engine", havingValue = "memory")
+public class MemoryTaskSearchEngine implements TaskSearchEngine, MeterBinder {
+    private static final int NAME_WEIGHT = 3;
+    private static final int REFERENCE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int MAX_TERMS = 8;
+    private static final int TERM_LOCKS = 64;
+    // re-read a margin of already seen changes to cover commit latency and clock skew between nodes
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(5);
+
+    private final TaskRepository taskRepository;
+    private final int batchSize;
+    private final int threads;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final Set<Long> deletedDuringBuild = ConcurrentHashMap.newKeySet();
+    // posting sets are created and retired under a lock per term so an id is never added to a retired set
+    private final Object[] termLocks = new Object[TERM_LOCKS];
+    private volatile boolean building;
+    private volatile boolean ready;
+    private volatile LocalDateTime refreshedFrom;
+    private Timer refreshLatency;
+
+    public MemoryTaskSearchEngine(TaskRepository taskRepository,
+                                  @Value("${trailiva.search.memory.batch-size:5000}") int batchSize,
+                                  @Value("${trailiva.search.memory.threads:0}") int threads) {
+        this.taskRepository = taskRepository;
+        this.batchSize = batchSize;
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        Arrays.setAll(termLocks, i -> new Object());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() throws InterruptedException {
+        if (ready) return;
+        long start = System.nanoTime();
+        refreshedFrom = LocalDateTime.now().minus(REFRESH_OVERLAP);
+        long maxId = taskRepository.findMaxId();
+        building = true;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> batches = LongStream.iterate(0, from -> from < maxId, from -> from + batchSize)
+                    .mapToObj(from -> (Callable<Integer>) () -> indexBatch(from, Math.min(from + batchSize, maxId)))
+                    .collect(Collectors.toList());
+            int indexed = 0;
+            for (Future<Integer> batch : executor.invokeAll(batches)) {
+                indexed += batch.get();
+            }
+            ready = true;
+            log.info("Indexed {} tasks for in-memory search in {} ms", indexed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (ExecutionException e) {
+            log.error("Building the in-memory task index failed, search stays on LIKE queries until a build succeeds", e.getCause());
+        } finally {
+            executor.shutdown();
+            building = false;
+            deletedDuringBuild.clear();
+        }
+    }
+
+    private int indexBatch(long fromId, long toId) {
+        List<TaskSummary> tasks = taskRepository.findSummariesByIdRange(fromId, toId);
+        for (TaskSummary task : tasks) {
+            // a live change may already have indexed or deleted this task while the batch was loading
+            documents.compute(task.getId(), (id, old) ->
+                    old != null || deletedDuringBuild.contains(id) ? old : postAll(id, terms(task)));
+        }
+        return tasks.size();
+    }
+
+    @Scheduled(fixedDelayString = "${trailiva.search.memory.refresh-ms:60000}")
+    public void refresh() {
+        if (!ready) return;
+        LocalDateTime from = LocalDateTime.now().minus(REFRESH_OVERLAP);
+        List<TaskSummary> updated = taskRepository.findSummariesUpdatedSince(refreshedFrom);
+        updated.forEach(this::index);
+        int removed = sweepDeleted();
+        refreshedFrom = from;
+        log.debug("Refreshed in-memory search index: {} updated, {} removed", updated.size(), removed);
+    }
+
+    private int sweepDeleted() {
+        // only ids indexed before their range is read can be judged missing, later ones may be newer than the read
+        List<Long> indexed = documents.keySet().stream().sorted().collect(Collectors.toList());
+        int removed = 0;
+        int next = 0;
+        while (next < indexed.size()) {
+            long fromId = indexed.get(next) - 1;
+            long toId = fromId + batchSize;
+            Set<Long> present = new HashSet<>(taskRepository.findIdsByIdRange(fromId, toId));
+            for (; next < indexed.size() && indexed.get(next) <= toId; next++) {
+                Long id = indexed.get(next);
+                if (!present.contains(id) && documents.containsKey(id)) {
+                    remove(id);
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getCurrent() == null) {
+            if (building) deletedDuringBuild.add(event.getTaskId());
+            remove(event.getTaskId());
+        } else {
+            index(event.getCurrent());
+        }
+        if (refreshLatency != null)
+            refreshLatency.record(Math.max(0, System.currentTimeMillis() - event.getTimestamp()), TimeUnit.MILLISECONDS);
+    }
+
+    void index(TaskSummary task) {
+        Map<String, Integer> terms = terms(task);
+        documents.compute(task.getId(), (id, old) -> {
+            if (old != null) old.keySet().forEach(term -> unpost(term, id));
+            return postAll(id, terms);
+        });
+    }
+
+    private Map<String, Integer> postAll(Long id, Map<String, Integer> terms) {
+        terms.keySet().forEach(term -> post(term, id));
+        return Map.copyOf(terms);
+    }
+
+    private static Map<String, Integer> terms(TaskSummary task) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, task.getDescription(), DESCRIPTION_WEIGHT);
+        addTerms(terms, task.getTaskReference(), REFERENCE_WEIGHT);
+        if (task.getTaskReference() != null)
+            terms.merge(task.getTaskReference().toLowerCase(Locale.ROOT), REFERENCE_WEIGHT, Math::max);
+        addTerms(terms, task.getName(), NAME_WEIGHT);
+        return terms;
+    }
+
+    void remove(Long taskId) {
+        documents.computeIfPresent(taskId, (id, old) -> {
+            old.keySet().forEach(term -> unpost(term, id));
+            return null;
+        });
+    }
+
+    private void post(String term, Long id) {
+        synchronized (termLock(term)) {
+            postings.computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    private void unpost(String term, Long id) {
+        synchronized (termLock(term)) {
+            Set<Long> ids = postings.get(term);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) postings.remove(term);
+        }
+    }
+
+    private Object termLock(String term) {
+        return termLocks[(term.hashCode() & Integer.MAX_VALUE) % TERM_LOCKS];
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<Long> search(String text, int page, int size) {
+        return score(text).entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .skip((long) page * size)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long count(String text) {
+        return score(text).size();
+    }
+
+    private Map<Long, Integer> score(String text) {
+        List<String> words = tokenize(text).stream().distinct().limit(MAX_TERMS).collect(Collectors.toList());
+        Map<Long, Integer> scores = null;
+        for (String word : words) {
+            Map<Long, Integer> hits = new HashMap<>();
+            for (Map.Entry<String, Set<Long>> posting : postings.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+                int bonus = posting.getKey().equals(word) ? 2 : 1;
+                for (Long id : posting.getValue()) {
+                    Map<String, Integer> document = documents.get(id);
+                    Integer weight = document == null ? null : document.get(posting.getKey());
+                    if (weight != null) hits.merge(id, weight * bonus, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = hits;
+            } else {
+                scores.keySet().retainAll(hits.keySet());
+                scores.replaceAll((id, score) -> score + hits.get(id));
+            }
+            if (scores.isEmpty()) break;
+        }
+        return scores == null ? Map.of() : scores;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) terms.merge(term, weight, Math::max);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) return List.of();
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    public int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("trailiva.search.index.documents", documents, Map::size)
+                .description("Tasks held by the in-memory search index")
+                .register(registry);
+        Gauge.builder("trailiva.search.index.terms", postings, Map::size)
+                .description("Distinct terms held by the in-memory search index")
+                .register(registry);
+        refreshLatency = Timer.builder("trailiva.search.index.refresh")
+                .description("Delay between a task change and its visibility in the in-memory search index")
+                .register(registry);
+    }
+}
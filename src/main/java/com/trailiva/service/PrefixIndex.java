@@ -0,0 +1,66 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.Suggestion;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index of suggestions. Each suggestion is stored under every word of its label and
+ * under the whole label, so "log" finds "Fix login bug" and "fix lo" does too. A lookup is a
+ * single range scan of the skip list that stops after {@code limit} distinct hits.
+ */
+final class PrefixIndex {
+    private static final char SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Set<String>> keysBySuggestion = new ConcurrentHashMap<>();
+
+    void put(Suggestion suggestion) {
+        String owner = suggestion.key();
+        Set<String> keys = new HashSet<>();
+        for (String term : terms(suggestion.getLabel())) keys.add(term + SEPARATOR + owner);
+        keysBySuggestion.compute(owner, (id, old) -> {
+            if (old != null) old.forEach(entries::remove);
+            keys.forEach(key -> entries.put(key, suggestion));
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    void remove(String owner) {
+        keysBySuggestion.computeIfPresent(owner, (id, old) -> {
+            old.forEach(entries::remove);
+            return null;
+        });
+    }
+
+    List<Suggestion> top(String prefix, int limit) {
+        String from = normalize(prefix);
+        if (from.isEmpty()) return List.of();
+        Map<String, Suggestion> hits = new LinkedHashMap<>();
+        for (Suggestion suggestion : entries.subMap(from, true, from + Character.MAX_VALUE, true).values()) {
+            hits.putIfAbsent(suggestion.key(), suggestion);
+            if (hits.size() >= limit) break;
+        }
+        return new ArrayList<>(hits.values());
+    }
+
+    int size() {
+        return keysBySuggestion.size();
+    }
+
+    private static Set<String> terms(String label) {
+        String normalized = normalize(label);
+        Set<String> terms = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return terms;
+        terms.add(normalized);
+        terms.addAll(Arrays.asList(normalized.split(" ")));
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) return "";
+        return text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
+}
@@ -2,12 +2,15 @@ package com.trailiva.service;
 
 import com.opencsv.exceptions.CsvValidationException;
 import com.trailiva.data.model.Project;
-import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.web.exceptions.BadRequestException;
 import com.trailiva.web.exceptions.ProjectException;
 import com.trailiva.web.exceptions.TokenException;
 import com.trailiva.web.exceptions.UserException;
 import com.trailiva.web.exceptions.WorkspaceException;
 import com.trailiva.web.payload.request.ProjectRequest;
+import com.trailiva.web.payload.response.CursorPage;
+import com.trailiva.web.payload.response.TaskCounts;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -24,15 +27,18 @@ public interface ProjectService {
 
     Project getProjectById(Long projectId) throws ProjectException;
 
-    List<Task> getUserTasks(Long projectId, Long memberId) throws UserException, ProjectException;
+    List<TaskSummary> getUserTasks(Long projectId, Long memberId) throws UserException, ProjectException;
 
     int countProjectTask(Long projectId) throws ProjectException;
 
+    TaskCounts getTaskCounts(Long projectId) throws ProjectException;
+
     void addContributor(List<String>contributorEmails, Long projectId) throws UserException, ProjectException;
 
     void addContributorFromCSV(MultipartFile file, Long projectId) throws IOException, CsvValidationException, UserException, ProjectException;
 
     void addContributor(String requestToken) throws TokenException, UserException;
 
-    List<Task> getTasksByProjectId(Long workspaceId) throws ProjectException;
+    CursorPage<TaskSummary> getTasksByProjectId(Long projectId, String tab, String cursor, int size, String sort, boolean includeTotal)
+            throws ProjectException, BadRequestException;
 }
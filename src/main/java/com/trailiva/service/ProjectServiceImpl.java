@@ -3,13 +3,22 @@ package com.trailiva.service;
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 import com.trailiva.data.model.*;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
 import com.trailiva.data.repository.*;
+import com.trailiva.specification.TaskSpecifications;
+import com.trailiva.util.Helper;
+import com.trailiva.web.exceptions.BadRequestException;
 import com.trailiva.web.exceptions.ProjectException;
 import com.trailiva.web.exceptions.TokenException;
 import com.trailiva.web.exceptions.UserException;
 import com.trailiva.web.exceptions.WorkspaceException;
 import com.trailiva.web.payload.request.ProjectRequest;
+import com.trailiva.web.payload.response.CursorPage;
+import com.trailiva.web.payload.response.TaskCounts;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,7 +28,6 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import static com.trailiva.data.model.TokenType.PROJECT_REQUEST;
 import static com.trailiva.util.Helper.convertMultiPartToFile;
@@ -32,20 +40,26 @@ public class ProjectServiceImpl implements ProjectService {
     private final ModelMapper modelMapper;
     private final PersonalWorkspaceRepository personalWorkspaceRepository;
     private final OfficialWorkspaceRepository officialWorkspaceRepository;
-    private final ProjectRequestTokenRepository projectRequestTokenRepository;
+    private final TokenRepository tokenRepository;
     private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectTaskCounters projectTaskCounters;
 
     public ProjectServiceImpl(ModelMapper modelMapper, ProjectRepository projectRepository,
                               PersonalWorkspaceRepository personalWorkspaceRepository,
                               OfficialWorkspaceRepository officialWorkspaceRepository,
-                              ProjectRequestTokenRepository projectRequestTokenRepository,
-                              UserRepository userRepository) {
+                              TokenRepository tokenRepository,
+                              UserRepository userRepository,
+                              TaskRepository taskRepository,
+                              ProjectTaskCounters projectTaskCounters) {
         this.modelMapper = modelMapper;
         this.projectRepository = projectRepository;
         this.personalWorkspaceRepository = personalWorkspaceRepository;
         this.officialWorkspaceRepository = officialWorkspaceRepository;
-        this.projectRequestTokenRepository = projectRequestTokenRepository;
+        this.tokenRepository = tokenRepository;
         this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.projectTaskCounters = projectTaskCounters;
     }
 
 
@@ -99,19 +113,24 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public List<Task> getUserTasks(Long projectId, Long memberId) throws ProjectException {
-        Project project = getProjectById(projectId);
-        List<Task> tasks;
-        tasks = project.getTasks().stream()
-                .filter(task -> task.getAssignee().getUserId().equals(memberId))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TaskSummary> getUserTasks(Long projectId, Long memberId) throws ProjectException {
+        List<TaskSummary> tasks = taskRepository.findSummaries(Specification.where(TaskSpecifications.inProject(projectId))
+                .and(TaskSpecifications.withParticipant(memberId, ParticipantRole.ASSIGNEE)), TaskSort.RECENT, null, Integer.MAX_VALUE);
+        if (tasks.isEmpty() && !projectRepository.existsById(projectId))
+            throw new ProjectException("Project not found");
         return tasks;
     }
 
     @Override
     public int countProjectTask(Long projectId) throws ProjectException {
-        Project project = getProjectById(projectId);
-        return project.getTasks().size();
+        return (int) getTaskCounts(projectId).getTotal();
+    }
+
+    @Override
+    public TaskCounts getTaskCounts(Long projectId) throws ProjectException {
+        if (!projectRepository.existsById(projectId)) throw new ProjectException("Project not found");
+        return projectTaskCounters.get(projectId);
     }
 
 
@@ -136,24 +155,37 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional
     public void addContributor(String requestToken) throws TokenException, UserException {
-        ProjectRequestToken token = getToken(requestToken, PROJECT_REQUEST.toString());
+        Token token = getToken(requestToken, PROJECT_REQUEST.toString());
         if (isValidToken(token.getExpiryDate())) throw new TokenException("Token has expired");
-        onboardContributor(token.getProject(), token.getUser());
-        projectRequestTokenRepository.delete(token);
+        Project project = projectRepository.findById(token.getTargetId())
+                .orElseThrow(() -> new TokenException("Invalid token"));
+        onboardContributor(project, token.getUser());
+        tokenRepository.delete(token);
     }
 
     @Override
-    @Transactional
-    public List<Task> getTasksByProjectId(Long projectId) throws ProjectException {
-        Project project = projectRepository.findById(projectId).orElseThrow(
-                ()-> new ProjectException("Project not found"));
-        return project.getTasks();
-    }
-
-
-    private ProjectRequestToken getToken(String requestToken, String tokenType) throws TokenException {
-        return projectRequestTokenRepository.findByTokenAndTokenType(requestToken, tokenType)
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> getTasksByProjectId(Long projectId, String tab, String cursor, int size, String sort, boolean includeTotal)
+            throws ProjectException, BadRequestException {
+        Helper.validatePageNumberAndSize(0, size);
+        if (size < 1) throw new BadRequestException("Page size must be greater than zero.");
+        TaskSort taskSort = TaskSort.fetchSort(sort);
+        TaskCursor after = Helper.isNullOrEmpty(cursor) ? null : TaskCursor.decode(cursor, taskSort);
+        Specification<Task> filter = Specification.where(TaskSpecifications.inProject(projectId))
+                .and(Helper.isNullOrEmpty(tab) ? null : TaskSpecifications.withTab(Tab.tabMapper(tab).toString()));
+
+        List<TaskSummary> rows = taskRepository.findSummaries(filter, taskSort, after, size + 1);
+        if (rows.isEmpty() && after == null && !projectRepository.existsById(projectId))
+            throw new ProjectException("Project not found");
+        Long total = includeTotal ? taskRepository.count(filter) : null;
+        return CursorPage.of(rows, size, task -> TaskCursor.after(task, taskSort).encode(), total);
+    }
+
+
+    private Token getToken(String requestToken, String tokenType) throws TokenException {
+        return tokenRepository.findByTokenAndTokenType(requestToken, tokenType)
                 .orElseThrow(() -> new TokenException("Invalid token"));
     }
 
@@ -180,9 +212,8 @@ public class ProjectServiceImpl implements ProjectService {
         String token = UUID.randomUUID().toString();
         Project project = getProjectById(projectId);
 
-        ProjectRequestToken requestToken = new ProjectRequestToken(token, User,
-                PROJECT_REQUEST.toString(), project);
-        projectRequestTokenRepository.save(requestToken);
+        Token requestToken = new Token(token, User, PROJECT_REQUEST.toString(), project.getProjectId());
+        tokenRepository.save(requestToken);
 //        emailService.sendWorkspaceRequestTokenEmail(email, requestToken.getToken());
     }
 
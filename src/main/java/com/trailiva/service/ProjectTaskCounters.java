@@ -0,0 +1,147 @@
+package com.trailiva.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.trailiva.data.model.Priority;
+import com.trailiva.data.model.Tab;
+import com.trailiva.data.projection.TaskCountRow;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.TaskElapsedEvent;
+import com.trailiva.web.payload.response.TaskCounts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per project task counts by tab, priority, assignment and elapse, kept in striped
+ * {@link LongAdder}s so reads are O(1) and concurrent writers never contend.
+ * <p>
+ * A project's counts are loaded by one grouped query the first time they are read. After that
+ * they are moved by committed task events. They are reloaded from the database once they are
+ * older than {@code reconcile-seconds}, which also picks up changes committed by other nodes.
+ * <p>
+ * An event that arrives while a project is being loaded or refreshed may or may not be in the
+ * query's result, so counts loaded under such an event are marked stale and loaded again on the
+ * next read. An event committed after the query but in the instant before the new counts replace
+ * the old ones can still be missed. That drift lasts until the next reconcile.
+ */
+@Component
+public class ProjectTaskCounters implements MeterBinder {
+    private final TaskRepository taskRepository;
+    private final LoadingCache<Long, Counts> projects;
+    private final ConcurrentHashMap<Long, AtomicBoolean> loading = new ConcurrentHashMap<>();
+
+    public ProjectTaskCounters(TaskRepository taskRepository,
+                               @Value("${trailiva.task.counters.max-projects:10000}") long maxProjects,
+                               @Value("${trailiva.task.counters.reconcile-seconds:300}") long reconcileSeconds) {
+        this.taskRepository = taskRepository;
+        this.projects = Caffeine.newBuilder()
+                .maximumSize(maxProjects)
+                .refreshAfterWrite(Duration.ofSeconds(reconcileSeconds))
+                .recordStats()
+                .build(this::load);
+    }
+
+    public TaskCounts get(Long projectId) {
+        Counts counts = projects.get(projectId);
+        if (counts.stale) {
+            projects.asMap().remove(projectId, counts);
+            counts = projects.get(projectId);
+        }
+        return counts.snapshot();
+    }
+
+    private Counts load(Long projectId) {
+        AtomicBoolean changed = new AtomicBoolean();
+        loading.put(projectId, changed);
+        Counts counts = new Counts();
+        try {
+            for (TaskCountRow row : taskRepository.countByProjectGrouped(projectId)) {
+                counts.add(row.getTab(), row.getPriority(), row.isAssigned(), row.isElapse(), row.getCount());
+            }
+        } finally {
+            loading.remove(projectId, changed);
+        }
+        counts.stale = changed.get();
+        return counts;
+    }
+
+    private void markChanged(Long projectId) {
+        AtomicBoolean changed = loading.get(projectId);
+        if (changed != null) changed.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getProjectId() == null) return;
+        markChanged(event.getProjectId());
+        Counts counts = projects.getIfPresent(event.getProjectId());
+        if (counts == null) return;
+        if (event.getType() == TaskChangedEvent.Type.UPDATED && event.getPrevious() == null) {
+            // without the previous state there is nothing to subtract, so count again
+            projects.invalidate(event.getProjectId());
+            return;
+        }
+        if (event.getPrevious() != null) counts.add(event.getPrevious(), -1);
+        if (event.getCurrent() != null) counts.add(event.getCurrent(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskElapsed(TaskElapsedEvent event) {
+        if (event.getProjectId() == null) return;
+        markChanged(event.getProjectId());
+        Counts counts = projects.getIfPresent(event.getProjectId());
+        if (counts != null) counts.elapsed.increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, projects, "projectTaskCounters");
+    }
+
+    private static final class Counts {
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> tabs = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, LongAdder> priorities = new ConcurrentHashMap<>();
+        private final LongAdder assigned = new LongAdder();
+        private final LongAdder elapsed = new LongAdder();
+        private volatile boolean stale;
+
+        void add(TaskSummary task, int sign) {
+            add(task.getTab(), task.getPriority(), task.isAssigned(), task.isElapse(), sign);
+        }
+
+        void add(String tab, String priority, boolean isAssigned, boolean elapse, long count) {
+            total.add(count);
+            if (tab != null) tabs.computeIfAbsent(tab, key -> new LongAdder()).add(count);
+            if (priority != null) priorities.computeIfAbsent(priority, key -> new LongAdder()).add(count);
+            if (isAssigned) assigned.add(count);
+            if (elapse) elapsed.add(count);
+        }
+
+        TaskCounts snapshot() {
+            Map<String, Long> tabCounts = new LinkedHashMap<>();
+            for (Tab tab : Tab.values()) tabCounts.put(tab.toString(), sum(tabs, tab.toString()));
+            Map<String, Long> priorityCounts = new LinkedHashMap<>();
+            for (Priority priority : Priority.values()) priorityCounts.put(priority.toString(), sum(priorities, priority.toString()));
+            return new TaskCounts(total.sum(), tabCounts, priorityCounts, assigned.sum(), elapsed.sum());
+        }
+
+        private static long sum(Map<String, LongAdder> counters, String key) {
+            LongAdder counter = counters.get(key);
+            return counter == null ? 0 : counter.sum();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.RefreshToken;
+import com.trailiva.data.model.User;
+import com.trailiva.web.exceptions.TokenException;
+
+public interface RefreshTokenService {
+    RefreshToken issue(User user);
+
+    RefreshToken rotate(String refreshToken) throws TokenException;
+}
@@ -0,0 +1,63 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.RefreshToken;
+import com.trailiva.data.model.User;
+import com.trailiva.data.repository.RefreshTokenRepository;
+import com.trailiva.web.exceptions.TokenException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.trailiva.util.Helper.hashToken;
+import static com.trailiva.util.Helper.isValidToken;
+
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int maxFamiliesPerUser;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${trailiva.security.refresh-token.max-per-user:5}") int maxFamiliesPerUser) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.maxFamiliesPerUser = maxFamiliesPerUser;
+    }
+
+    @Override
+    @Transactional
+    public RefreshToken issue(User user) {
+        List<RefreshToken> families = refreshTokenRepository.findByUserUserIdOrderByCreatedDateDesc(user.getUserId());
+        if (families.size() >= maxFamiliesPerUser) {
+            refreshTokenRepository.deleteAll(families.subList(maxFamiliesPerUser - 1, families.size()));
+        }
+        return refreshTokenRepository.save(new RefreshToken(user));
+    }
+
+    @Override
+    @Transactional(noRollbackFor = TokenException.class)
+    public RefreshToken rotate(String refreshToken) throws TokenException {
+        String tokenHash = hashToken(refreshToken);
+        Optional<RefreshToken> family = refreshTokenRepository.findByTokenHash(tokenHash);
+        if (family.isEmpty()) {
+            Optional<RefreshToken> reused = refreshTokenRepository.findByPreviousHash(tokenHash);
+            if (reused.isPresent()) {
+                log.warn("Refresh token reuse detected, revoking token family {}", reused.get().getId());
+                refreshTokenRepository.delete(reused.get());
+            }
+            throw new TokenException("Invalid refresh token");
+        }
+
+        RefreshToken token = family.get();
+        if (isValidToken(token.getExpiryDate())) {
+            refreshTokenRepository.delete(token);
+            throw new TokenException("Refresh token was expired. Please make a new sign in request");
+        }
+        token.rotate();
+        return refreshTokenRepository.save(token);
+    }
+}
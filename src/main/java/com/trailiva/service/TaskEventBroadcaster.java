@@ -0,0 +1,199 @@
+package com.trailiva.service;
+
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.TaskElapsedEvent;
+import com.trailiva.web.payload.response.TaskDelta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed task changes to the server-sent event streams of a project's board.
+ * <p>
+ * The committing thread only appends the delta to each subscriber's bounded buffer. Writes to
+ * the network happen on a small pool, at most one drain per subscriber at a time, so a slow
+ * client never blocks a request or other clients. When a buffer overflows, its pending deltas
+ * are dropped and the client is sent a single {@code resync} event telling it to reload the board.
+ */
+@Component
+@Slf4j
+public class TaskEventBroadcaster implements MeterBinder, DisposableBean {
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Executor senders;
+    private final Supplier<SseEmitter> emitters;
+    private final int bufferSize;
+    private Counter overflows;
+
+    @Autowired
+    public TaskEventBroadcaster(@Value("${trailiva.sse.buffer-size:256}") int bufferSize,
+                                @Value("${trailiva.sse.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${trailiva.sse.threads:4}") int threads) {
+        this(bufferSize, Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "task-sse");
+            thread.setDaemon(true);
+            return thread;
+        }), () -> new SseEmitter(timeoutMillis));
+    }
+
+    TaskEventBroadcaster(int bufferSize, Executor senders, Supplier<SseEmitter> emitters) {
+        this.bufferSize = bufferSize;
+        this.senders = senders;
+        this.emitters = emitters;
+    }
+
+    public SseEmitter subscribe(Long projectId) {
+        SseEmitter emitter = emitters.get();
+        try {
+            // commits the text/event-stream headers now rather than on the first change or heartbeat
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        Subscriber subscriber = new Subscriber(projectId, emitter, bufferSize);
+        subscribers.compute(projectId, (id, audience) -> {
+            Set<Subscriber> members = audience != null ? audience : ConcurrentHashMap.newKeySet();
+            members.add(subscriber);
+            return members;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        publish(event.getProjectId(), TaskDelta.of(event));
+    }
+
+    private void publish(Long projectId, TaskDelta delta) {
+        if (projectId == null) return;
+        Set<Subscriber> audience = subscribers.get(projectId);
+        if (audience == null || audience.isEmpty()) return;
+        for (Subscriber subscriber : audience) {
+            if (!subscriber.buffer.offer(delta)) {
+                subscriber.buffer.clear();
+                subscriber.overflowed = true;
+                if (overflows != null) overflows.increment();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskElapsed(TaskElapsedEvent event) {
+        publish(event.getProjectId(), new TaskDelta("ELAPSED", event.getTaskId(), null, null));
+    }
+
+    /**
+     * Comment lines keep idle connections open through proxies and reveal clients that went away.
+     */
+    @Scheduled(fixedRateString = "${trailiva.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(audience -> audience.forEach(subscriber -> {
+            subscriber.heartbeat = true;
+            schedule(subscriber);
+        }));
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.overflowed) {
+                subscriber.overflowed = false;
+                subscriber.emitter.send(SseEmitter.event().name("resync").data(subscriber.projectId));
+            }
+            TaskDelta delta;
+            while ((delta = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event().name("task").data(delta));
+            }
+            if (subscriber.heartbeat) {
+                subscriber.heartbeat = false;
+                subscriber.emitter.send(SseEmitter.event().comment("ping"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping task event subscriber of project {}: {}", subscriber.projectId, e.getMessage());
+            subscriber.emitter.completeWithError(e);
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (!subscriber.closed && (!subscriber.buffer.isEmpty() || subscriber.overflowed)) schedule(subscriber);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.closed) return;
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        subscribers.computeIfPresent(subscriber.projectId, (id, audience) -> {
+            audience.remove(subscriber);
+            return audience.isEmpty() ? null : audience;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("trailiva.sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open task board event streams")
+                .register(registry);
+        overflows = Counter.builder("trailiva.sse.overflows")
+                .description("Subscriber buffers that overflowed and were told to resync")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(audience -> audience.forEach(subscriber -> subscriber.emitter.complete()));
+        if (senders instanceof ExecutorService) ((ExecutorService) senders).shutdownNow();
+    }
+
+    private static final class Subscriber {
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TaskDelta> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean heartbeat;
+        private volatile boolean closed;
+
+        private Subscriber(Long projectId, SseEmitter emitter, int bufferSize) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.trailiva.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.opencsv.CSVWriter;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.ProjectRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.exceptions.ProjectException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes all tasks of a project as NDJSON or CSV straight from a database cursor into the
+ * response, one row at a time. Rows are summary projections, so nothing piles up in the
+ * persistence context and memory stays flat however many tasks the project has.
+ */
+@Component
+public class TaskExporter {
+    private static final int FLUSH_EVERY = 1000;
+    private static final String[] CSV_HEADER = {"id", "reference", "name", "description", "tab", "priority",
+            "assigned", "requested", "elapsed", "dueDate", "createdAt", "updatedAt"};
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fetchFormat(String format) throws BadRequestException {
+            for (Format item : Format.values()) {
+                if (item.extension.equalsIgnoreCase(format))
+                    return item;
+            }
+            throw new BadRequestException("Unsupported export format " + format);
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskExporter(TaskRepository taskRepository, ProjectRepository projectRepository,
+                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.jsonWriter = objectMapper.writerFor(TaskSummary.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Checks the project exists and returns the body that streams its tasks. The body runs later
+     * on an MVC async thread, in its own read-only transaction that holds the cursor open.
+     */
+    public StreamingResponseBody export(Long projectId, Format format) throws ProjectException {
+        if (!projectRepository.existsById(projectId)) throw new ProjectException("Project not found");
+        return out -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<TaskSummary> tasks = taskRepository.streamSummariesByProjectId(projectId)) {
+                        if (format == Format.CSV) writeCsv(tasks.iterator(), out);
+                        else writeNdjson(tasks.iterator(), out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void writeNdjson(Iterator<TaskSummary> tasks, OutputStream out) throws IOException {
+        JsonGenerator generator = jsonWriter.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        int written = 0;
+        while (tasks.hasNext()) {
+            jsonWriter.writeValue(generator, tasks.next());
+            generator.writeRaw('\n');
+            if (++written % FLUSH_EVERY == 0) generator.flush();
+        }
+        generator.close();
+    }
+
+    private static void writeCsv(Iterator<TaskSummary> tasks, OutputStream out) throws IOException {
+        CSVWriter writer = new CSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.writeNext(CSV_HEADER);
+        int written = 0;
+        while (tasks.hasNext()) {
+            TaskSummary task = tasks.next();
+            writer.writeNext(new String[]{String.valueOf(task.getId()), task.getTaskReference(), task.getName(),
+                    task.getDescription(), task.getTab(), task.getPriority(), String.valueOf(task.isAssigned()),
+                    String.valueOf(task.isRequested()), String.valueOf(task.isElapse()), text(task.getDueDate()),
+                    text(task.getCreatedAt()), text(task.getUpdatedAt())});
+            if (++written % FLUSH_EVERY == 0) writer.flush();
+        }
+        writer.flush();
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
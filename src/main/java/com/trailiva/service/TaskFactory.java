@@ -0,0 +1,51 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.Priority;
+import com.trailiva.data.model.Project;
+import com.trailiva.data.model.Task;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.web.payload.request.TaskRequest;
+import org.hibernate.exception.ConstraintViolationException;
+import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import static com.trailiva.data.model.Tab.PENDING;
+
+/**
+ * Builds new, unsaved tasks for single and bulk creation alike.
+ */
+@Component
+public class TaskFactory {
+    private final ModelMapper modelMapper;
+    private final TaskReferenceAllocator taskReferenceAllocator;
+    private final TaskRepository taskRepository;
+
+    public TaskFactory(ModelMapper modelMapper, TaskReferenceAllocator taskReferenceAllocator, TaskRepository taskRepository) {
+        this.modelMapper = modelMapper;
+        this.taskReferenceAllocator = taskReferenceAllocator;
+        this.taskRepository = taskRepository;
+    }
+
+    public Task newTask(TaskRequest request, Project project) {
+        Long projectId = project.getProjectId();
+        Task task = modelMapper.map(request, Task.class);
+        task.setPriority(Priority.fetchPriority(request.getPriority()).toString());
+        task.setTab(PENDING.toString());
+        long referenceId = taskReferenceAllocator.next(projectId, () -> Math.max(
+                taskRepository.findMaxReferenceNumber(projectId), taskRepository.countByProjectProjectId(projectId)));
+        String formattedId = String.format("%02d", referenceId);
+        task.setTaskReference(project.getReferenceName().concat("-").concat(formattedId));
+        task.setProject(project);
+        return task;
+    }
+
+    public static boolean isDuplicateName(DataIntegrityViolationException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ConstraintViolationException) {
+            String constraint = ((ConstraintViolationException) cause).getConstraintName();
+            return constraint == null || constraint.equalsIgnoreCase(Task.NAME_KEY_CONSTRAINT);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.ParticipantRole;
+import com.trailiva.data.model.Task;
+import com.trailiva.data.model.TaskParticipant;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskParticipantRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.util.Helper;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.payload.response.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link TaskParticipant} rows in step with task creation and assignment, and pages
+ * through a user's tasks across projects with them.
+ */
+@Component
+public class TaskParticipants {
+    private final TaskParticipantRepository participantRepository;
+    private final TaskRepository taskRepository;
+
+    public TaskParticipants(TaskParticipantRepository participantRepository, TaskRepository taskRepository) {
+        this.participantRepository = participantRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    public void created(Collection<Long> taskIds, Long creatorId) {
+        if (creatorId == null || taskIds.isEmpty()) return;
+        participantRepository.join(taskIds, ParticipantRole.CREATOR.name(), creatorId, LocalDateTime.now());
+    }
+
+    public void assigned(Task task) {
+        LocalDateTime now = LocalDateTime.now();
+        if (task.getAssignee() != null)
+            participantRepository.join(List.of(task.getId()), ParticipantRole.ASSIGNEE.name(), task.getAssignee().getUserId(), now);
+        if (task.getReporter() != null)
+            participantRepository.join(List.of(task.getId()), ParticipantRole.REPORTER.name(), task.getReporter().getUserId(), now);
+    }
+
+    /**
+     * Tasks of {@code userId} in the given role, or in any role when {@code role} is null, most
+     * recently joined first. A task has at most one row per role, so reading {@code size + 1}
+     * rows per role always yields {@code size + 1} distinct tasks when there are that many.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSummary> findTasks(Long userId, ParticipantRole role, String cursor, int size) throws BadRequestException {
+        Helper.validatePageNumberAndSize(0, size);
+        if (size < 1) throw new BadRequestException("Page size must be greater than zero.");
+        Set<ParticipantRole> roles = role == null ? EnumSet.allOf(ParticipantRole.class) : EnumSet.of(role);
+        PageRequest limit = PageRequest.of(0, (size + 1) * roles.size());
+        TaskCursor after = Helper.isNullOrEmpty(cursor) ? null : TaskCursor.decode(cursor, TaskSort.RECENT);
+        List<TaskParticipant> rows = after == null
+                ? participantRepository.findLatest(userId, roles, limit)
+                : participantRepository.findLatestBefore(userId, roles, after.getUpdatedAt(), after.getId(), limit);
+
+        Map<Long, LocalDateTime> joinedAt = new LinkedHashMap<>();
+        for (TaskParticipant row : rows) {
+            if (joinedAt.size() > size) break;
+            joinedAt.putIfAbsent(row.getTaskId(), row.getUpdatedAt());
+        }
+        if (joinedAt.isEmpty()) return CursorPage.of(List.of(), size, task -> null, null);
+
+        Map<Long, TaskSummary> summaries = taskRepository.findSummariesByIdIn(joinedAt.keySet()).stream()
+                .collect(Collectors.toMap(TaskSummary::getId, Function.identity()));
+        List<TaskSummary> tasks = joinedAt.keySet().stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return CursorPage.of(tasks, size, task -> TaskCursor.recent(task.getId(), joinedAt.get(task.getId())).encode(), null);
+    }
+}
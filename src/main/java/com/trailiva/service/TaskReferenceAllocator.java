@@ -0,0 +1,70 @@
+package com.trailiva.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trailiva.data.repository.TaskSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hi/lo allocator for per project task reference numbers. Each node reserves a block of
+ * numbers from {@code task_sequence} and serves it from memory, so numbers are unique across
+ * nodes without a database round trip per task. Blocks abandoned on restart or eviction leave gaps.
+ */
+@Component
+@Slf4j
+public class TaskReferenceAllocator {
+    private final TaskSequenceRepository taskSequenceRepository;
+    private final int blockSize;
+    private final ConcurrentMap<Long, Block> blocks;
+
+    public TaskReferenceAllocator(TaskSequenceRepository taskSequenceRepository,
+                                  @Value("${trailiva.task.reference-block-size:50}") int blockSize) {
+        this.taskSequenceRepository = taskSequenceRepository;
+        this.blockSize = blockSize;
+        this.blocks = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .<Long, Block>build()
+                .asMap();
+    }
+
+    /**
+     * @param lastUsed highest reference number the project already uses; only asked for when the
+     *                 project has no {@code task_sequence} row yet
+     */
+    public long next(Long projectId, LongSupplier lastUsed) {
+        for (;;) {
+            Block block = blocks.get(projectId);
+            if (block != null) {
+                long value = block.next.getAndIncrement();
+                if (value <= block.last) return value;
+            }
+            blocks.compute(projectId, (id, current) ->
+                    current != null && current.next.get() <= current.last ? current : reserve(id, lastUsed));
+        }
+    }
+
+    private Block reserve(Long projectId, LongSupplier lastUsed) {
+        // the seed is ignored once the row exists, so only pay for it on the project's first block
+        long seed = taskSequenceRepository.existsById(projectId) ? 0 : lastUsed.getAsLong();
+        long last = taskSequenceRepository.allocateBlock(projectId, seed, blockSize);
+        log.debug("Reserved task references {}..{} for project {}", last - blockSize + 1, last, projectId);
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long last;
+
+        private Block(long first, long last) {
+            this.next = new AtomicLong(first);
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.trailiva.service;
+
+import java.util.List;
+
+/**
+ * Index backed alternative to the LIKE specifications used by task search. Implementations are
+ * selected with {@code trailiva.search.engine}; when none is active search falls back to
+ * {@link com.trailiva.specification.TaskSpecifications}.
+ */
+public interface TaskSearchEngine {
+    /**
+     * Ids of the tasks matching {@code text} for the requested page, best match first.
+     */
+    List<Long> search(String text, int page, int size);
+
+    long count(String text);
+
+    /**
+     * Whether the engine can answer for every task yet; until then search uses the LIKE specifications.
+     */
+    default boolean isReady() {
+        return true;
+    }
+}
@@ -1,6 +1,10 @@
 package com.trailiva.service;
 
 import com.trailiva.data.model.*;
+import com.trailiva.data.projection.BoardRow;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
 import com.trailiva.data.repository.ProjectRepository;
 import com.trailiva.data.repository.TaskRepository;
 import com.trailiva.data.repository.PersonalWorkspaceRepository;
@@ -11,8 +15,11 @@ import com.trailiva.web.exceptions.ProjectException;
 import com.trailiva.web.exceptions.TaskException;
 import com.trailiva.web.exceptions.WorkspaceException;
 import com.trailiva.web.payload.request.TaskRequest;
+import com.trailiva.web.payload.response.BoardColumn;
+import com.trailiva.web.payload.response.CursorPage;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,9 +30,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
-
-import static com.trailiva.data.model.Tab.PENDING;
 
 @Service
 @Slf4j
@@ -34,44 +38,53 @@ public class TaskServiceImpl implements TaskService{
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final ModelMapper modelMapper;
-
-    private static int taskReferenceId = 1;
+    private final TaskFactory taskFactory;
+    private final TaskParticipants taskParticipants;
+    private final Optional<TaskSearchEngine> searchEngine;
 
     public TaskServiceImpl(TaskRepository taskRepository,
                            ProjectRepository projectRepository,
-                           ModelMapper modelMapper) {
+                           ModelMapper modelMapper,
+                           TaskFactory taskFactory,
+                           TaskParticipants taskParticipants,
+                           Optional<TaskSearchEngine> searchEngine) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
         this.modelMapper = modelMapper;
+        this.taskFactory = taskFactory;
+        this.taskParticipants = taskParticipants;
+        this.searchEngine = searchEngine;
     }
 
     @Override
-    @Transactional
-    public Task createTask(TaskRequest request, Long projectId) throws TaskException, ProjectException {
+    @Transactional(rollbackFor = {TaskException.class, ProjectException.class})
+    public Task createTask(TaskRequest request, Long projectId, Long creatorId) throws TaskException, ProjectException {
         Project project = projectRepository.findById(projectId).orElseThrow(()-> new ProjectException("project not found"));
-        boolean existByName = project.getTasks().stream().anyMatch(task -> task.getName().equalsIgnoreCase(request.getName()));
-
-        if (existByName)  throw new TaskException("This task already exist");
 
-        Task newTask = modelMapper.map(request, Task.class);
-        newTask.setPriority(Priority.fetchPriority(request.getPriority()).toString());
-        newTask.setTab(PENDING.toString());
-        String formattedId = String.format("%02d", taskReferenceId);
-        taskReferenceId++;
-        newTask.setTaskReference(project.getReferenceName().concat("-").concat(formattedId));
-
-        Task task = taskRepository.save(newTask);
-        project.addTask(newTask);
-//        projectRepository.save(project);
-        return task;
+        Task newTask = taskFactory.newTask(request, project);
+
+        Task savedTask;
+        try {
+            savedTask = taskRepository.saveAndFlush(newTask);
+        } catch (DataIntegrityViolationException e) {
+            if (TaskFactory.isDuplicateName(e)) throw new TaskException("This task already exist");
+            throw e;
+        }
+        taskParticipants.created(List.of(savedTask.getId()), creatorId);
+        return savedTask;
     }
 
     @Override
-    @Transactional
+    @Transactional(rollbackFor = TaskException.class)
     public Task updateTask(TaskRequest taskRequest, Long id) throws TaskException {
-        Task taskToUpdate = taskRepository.findById(id).orElseThrow(()-> new TaskException("Task does not exist"));
+        Task taskToUpdate = taskRepository.findWithPeopleById(id).orElseThrow(()-> new TaskException("Task does not exist"));
         modelMapper.map(taskRequest, taskToUpdate);
-        return taskRepository.save(taskToUpdate);
+        try {
+            return taskRepository.saveAndFlush(taskToUpdate);
+        } catch (DataIntegrityViolationException e) {
+            if (TaskFactory.isDuplicateName(e)) throw new TaskException("This task already exist");
+            throw e;
+        }
     }
 
     @Override
@@ -84,41 +97,72 @@ public class TaskServiceImpl implements TaskService{
 
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public Task getTaskDetail(Long projectId, Long taskId) throws ProjectException {
-        Project project = projectRepository.findById(projectId).orElseThrow(
-                ()-> new ProjectException("Project not found"));
-        Optional<Task> task = project.getTasks().stream().filter(data -> Objects.equals(data.getId(), taskId)).findFirst();
+        Optional<Task> task = taskRepository.findByIdAndProjectProjectId(taskId, projectId);
+        if (task.isEmpty()) requireProject(projectId);
         return task.orElse(null);
     }
 
     @Override
     @Transactional
     public Task updateTaskTag(Long taskId, String taskTab) throws TaskException {
-        Task taskToUpdate = taskRepository.findById(taskId).orElseThrow(
+        Task taskToUpdate = taskRepository.findWithPeopleById(taskId).orElseThrow(
                 ()-> new TaskException("Task not found"));
         taskToUpdate.setTab(Tab.tabMapper(taskTab).toString());
         return taskRepository.save(taskToUpdate);
     }
 
     @Override
-    @Transactional
-    public List<Task> filterTaskByPriority(Long projectId, Priority taskPriority) throws ProjectException {
-        Project project = projectRepository.findById(projectId).orElseThrow(
-                ()-> new ProjectException("Project not found"));
-        return project.getTasks().stream()
-                .filter(task -> task.getPriority().equals( taskPriority.toString()))
-                .collect(Collectors.toUnmodifiableList());
+    @Transactional(readOnly = true)
+    public List<TaskSummary> filterTaskByPriority(Long projectId, Priority taskPriority) throws ProjectException {
+        List<TaskSummary> tasks = taskRepository.findSummariesByProjectAndPriority(projectId, taskPriority.toString());
+        if (tasks.isEmpty()) requireProject(projectId);
+        return Collections.unmodifiableList(tasks);
     }
 
     @Override
-    @Transactional
-    public List<Task> filterTaskByTab(Long projectId, Tab taskTab) throws  ProjectException {
-        Project project = projectRepository.findById(projectId).orElseThrow(
-                ()-> new ProjectException("Project not found"));
-        return project.getTasks().stream()
-                .filter(task -> task.getTab().equals(taskTab.toString()))
-                .collect(Collectors.toUnmodifiableList());
+    @Transactional(readOnly = true)
+    public List<TaskSummary> filterTaskByTab(Long projectId, Tab taskTab) throws  ProjectException {
+        List<TaskSummary> tasks = taskRepository.findSummariesByProjectAndTab(projectId, taskTab.toString());
+        if (tasks.isEmpty()) requireProject(projectId);
+        return Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public CursorPage<TaskSummary> getUserTasks(Long userId, String role, String cursor, int size) throws BadRequestException {
+        ParticipantRole participantRole = null;
+        if (!Helper.isNullOrEmpty(role)) {
+            participantRole = ParticipantRole.roleMapper(role);
+            if (participantRole == null) throw new BadRequestException("Unknown task role " + role);
+        }
+        return taskParticipants.findTasks(userId, participantRole, cursor, size);
+    }
+
+    @Override
+    public List<BoardColumn> getBoard(Long projectId, int size) throws ProjectException, BadRequestException {
+        Helper.validatePageNumberAndSize(0, size);
+        if (size < 1) throw new BadRequestException("Page size must be greater than zero.");
+        List<BoardRow> rows = taskRepository.findBoard(projectId, size);
+        if (rows.isEmpty()) requireProject(projectId);
+
+        Map<String, List<BoardRow>> byTab = new HashMap<>();
+        rows.forEach(row -> byTab.computeIfAbsent(row.getTab(), tab -> new ArrayList<>()).add(row));
+        List<BoardColumn> board = new ArrayList<>();
+        for (Tab tab : Tab.values()) {
+            List<BoardRow> column = byTab.getOrDefault(tab.toString(), List.of());
+            List<TaskSummary> tasks = new ArrayList<>(column.size());
+            column.forEach(row -> tasks.add(row.toSummary()));
+            long total = column.isEmpty() ? 0 : column.get(0).getTabTotal();
+            String nextCursor = total > tasks.size()
+                    ? TaskCursor.after(tasks.get(tasks.size() - 1), TaskSort.RECENT).encode() : null;
+            board.add(new BoardColumn(tab.toString(), total, tasks, nextCursor));
+        }
+        return board;
+    }
+
+    private void requireProject(Long projectId) throws ProjectException {
+        if (!projectRepository.existsById(projectId)) throw new ProjectException("Project not found");
     }
 
     @Override
@@ -130,11 +174,18 @@ public class TaskServiceImpl implements TaskService{
     @Override
     public Map<String, Object> searchTaskByNameAndDescription(Map<String, String> params, int page, int size) throws BadRequestException {
         Helper.validatePageNumberAndSize(page, size);
+        String text = searchText(params);
+        Optional<TaskSearchEngine> engine = searchEngine.filter(TaskSearchEngine::isReady);
+        if (engine.isPresent() && !params.containsKey("cursor") && !Helper.isNullOrEmpty(text))
+            return searchWithEngine(engine.get(), text, page, size);
+
         Specification<Task> searchByName = TaskSpecifications.withTaskName(params.get("name"));
         Specification<Task> searchByDesc = TaskSpecifications.withTaskDescription(params.get("description"));
+        if (params.containsKey("cursor"))
+            return searchAfterCursor(Specification.where(searchByName).and(searchByDesc), params, size);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "name"));
-        Page<Task> result = taskRepository.findAll(
+        Page<TaskSummary> result = taskRepository.findSummaryPage(
                 Specification.where(searchByName)
                         .and(searchByDesc),
                 pageable
@@ -143,7 +194,59 @@ public class TaskServiceImpl implements TaskService{
         response.put("data", result.getContent());
         response.put("recordsTotal", result.getTotalElements());
         response.put("recordsFiltered", result.getTotalElements());
-        return response;    }
+        return response;
+    }
+
+    private Map<String, Object> searchWithEngine(TaskSearchEngine engine, String text, int page, int size) {
+        List<Long> ids = engine.search(text, page, size);
+        Map<Long, TaskSummary> summaries = new HashMap<>();
+        if (!ids.isEmpty())
+            taskRepository.findSummariesByIdIn(ids).forEach(summary -> summaries.put(summary.getId(), summary));
+
+        List<TaskSummary> data = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskSummary summary = summaries.get(id);
+            if (summary != null) data.add(summary);
+        }
+        long total = engine.count(text);
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", data);
+        response.put("recordsTotal", total);
+        response.put("recordsFiltered", total);
+        return response;
+    }
+
+    /**
+     * Free text for the search engine: {@code q} when given, otherwise the name and description filters.
+     */
+    private String searchText(Map<String, String> params) {
+        if (!Helper.isNullOrEmpty(params.get("q"))) return params.get("q");
+        StringJoiner text = new StringJoiner(" ");
+        if (!Helper.isNullOrEmpty(params.get("name"))) text.add(params.get("name"));
+        if (!Helper.isNullOrEmpty(params.get("description"))) text.add(params.get("description"));
+        return text.toString();
+    }
+
+    /**
+     * Keyset variant of the search, taken when the caller sends a {@code cursor} parameter (empty
+     * for the first page). It seeks on (name, id) and only counts matches when {@code count=true}.
+     */
+    private Map<String, Object> searchAfterCursor(Specification<Task> specification, Map<String, String> params, int size)
+            throws BadRequestException {
+        if (size < 1) throw new BadRequestException("Page size must be greater than zero.");
+        String cursor = params.get("cursor");
+        TaskCursor after = Helper.isNullOrEmpty(cursor) ? null : TaskCursor.decode(cursor, TaskSort.NAME);
+
+        List<TaskSummary> rows = taskRepository.findSummaries(specification, TaskSort.NAME, after, size + 1);
+        CursorPage<TaskSummary> result = CursorPage.of(rows, size, task -> TaskCursor.after(task, TaskSort.NAME).encode(),
+                Boolean.parseBoolean(params.get("count")) ? taskRepository.count(specification) : null);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("data", result.getData());
+        response.put("nextCursor", result.getNextCursor());
+        if (result.getRecordsTotal() != null) response.put("recordsTotal", result.getRecordsTotal());
+        return response;
+    }
 
 
 }
@@ -2,6 +2,7 @@ package com.trailiva.service;
 
 import com.trailiva.data.model.User;
 import com.trailiva.data.repository.UserRepository;
+import com.trailiva.event.UserAccessChangedEvent;
 import com.trailiva.specification.UserSpecifications;
 import com.trailiva.util.Helper;
 import com.trailiva.web.exceptions.AuthException;
@@ -13,6 +14,7 @@ import com.trailiva.web.payload.response.UserProfile;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -37,6 +39,7 @@ public class UserServiceImpl implements UserService {
     private final ModelMapper modelMapper;
     private final CloudinaryService cloudinaryService;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public User getUserProfile(Long userId) throws UserException {
@@ -71,6 +74,7 @@ public class UserServiceImpl implements UserService {
     public void deleteAUser(String email) throws UserException {
         User User = userRepository.findByEmail(email).orElseThrow(() -> new UserException("User not found with email " + email));
         userRepository.delete(User);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(this, email));
     }
 
     private User saveAUser(User User) {
@@ -91,6 +95,7 @@ public class UserServiceImpl implements UserService {
         }
         userToChangePassword.setPassword(passwordEncoder.encode(request.getPassword()));
         saveAUser(userToChangePassword);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(this, email));
     }
 
     @Override
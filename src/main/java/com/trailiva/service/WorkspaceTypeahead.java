@@ -0,0 +1,194 @@
+package com.trailiva.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.trailiva.data.model.WorkSpaceType;
+import com.trailiva.data.projection.MemberName;
+import com.trailiva.data.projection.Suggestion;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.OfficialWorkspaceRepository;
+import com.trailiva.data.repository.PersonalWorkspaceRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.WorkspaceMembershipChangedEvent;
+import com.trailiva.web.exceptions.WorkspaceException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Typeahead over task names, task references and member names, one {@link PrefixIndex} per
+ * workspace. A workspace is loaded from the database on its first lookup and then kept current
+ * from committed task and membership events, so keystrokes never reach the database.
+ */
+@Service
+@Slf4j
+public class WorkspaceTypeahead implements MeterBinder {
+    private static final int MAX_LIMIT = 50;
+
+    private final TaskRepository taskRepository;
+    private final OfficialWorkspaceRepository officialWorkspaceRepository;
+    private final PersonalWorkspaceRepository personalWorkspaceRepository;
+    private final Cache<WorkspaceKey, PrefixIndex> workspaces;
+    private final Cache<Long, Optional<WorkspaceKey>> projectWorkspaces;
+    private final Cache<MemberKey, Boolean> members;
+
+    public WorkspaceTypeahead(TaskRepository taskRepository,
+                              OfficialWorkspaceRepository officialWorkspaceRepository,
+                              PersonalWorkspaceRepository personalWorkspaceRepository,
+                              @Value("${trailiva.typeahead.max-workspaces:1000}") long maxWorkspaces,
+                              @Value("${trailiva.typeahead.ttl-minutes:30}") long ttlMinutes) {
+        this.taskRepository = taskRepository;
+        this.officialWorkspaceRepository = officialWorkspaceRepository;
+        this.personalWorkspaceRepository = personalWorkspaceRepository;
+        // the ttl bounds drift from changes made outside JPA, e.g. a member renaming themselves
+        this.workspaces = Caffeine.newBuilder()
+                .maximumSize(maxWorkspaces)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.projectWorkspaces = Caffeine.newBuilder()
+                .maximumSize(maxWorkspaces * 20)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        // membership can also change outside the published events, so keep it on a short leash
+        this.members = Caffeine.newBuilder()
+                .maximumSize(maxWorkspaces * 50)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+    }
+
+    /**
+     * Suggests entries of the workspace for {@code userId}, who must be its owner or, for an official
+     * workspace, one of its contributors or moderators. Unknown workspaces and foreign workspaces fail
+     * the same way so the endpoint cannot be used to probe for workspace ids.
+     */
+    public List<Suggestion> suggest(WorkSpaceType type, Long workspaceId, Long userId, String prefix, int limit) throws WorkspaceException {
+        WorkspaceKey key = new WorkspaceKey(type, workspaceId);
+        if (userId == null || !members.get(new MemberKey(key, userId), this::isMember))
+            throw new WorkspaceException("Workspace not found");
+        PrefixIndex index = workspaces.get(key, this::load);
+        return index.top(prefix, Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    private PrefixIndex load(WorkspaceKey key) {
+        List<Long> projectIds = key.type == WorkSpaceType.OFFICIAL
+                ? officialWorkspaceRepository.findProjectIds(key.id)
+                : personalWorkspaceRepository.findProjectIds(key.id);
+        List<MemberName> members = key.type == WorkSpaceType.OFFICIAL
+                ? officialWorkspaceRepository.findMemberNames(key.id)
+                : personalWorkspaceRepository.findMemberNames(key.id);
+
+        PrefixIndex index = new PrefixIndex();
+        projectIds.forEach(projectId -> projectWorkspaces.put(projectId, Optional.of(key)));
+        if (!projectIds.isEmpty()) taskRepository.findSummariesByProjectIdIn(projectIds).forEach(task -> putTask(index, task));
+        members.forEach(member -> putMember(index, member));
+        log.debug("Loaded typeahead for {} workspace {}: {} entries", key.type, key.id, index.size());
+        return index;
+    }
+
+    private boolean isMember(MemberKey member) {
+        return member.workspace.type == WorkSpaceType.OFFICIAL
+                ? officialWorkspaceRepository.isMember(member.workspace.id, member.userId)
+                : personalWorkspaceRepository.isMember(member.workspace.id, member.userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getProjectId() == null || workspaces.estimatedSize() == 0) return;
+        Optional<WorkspaceKey> key = projectWorkspaces.get(event.getProjectId(), this::findWorkspace);
+        PrefixIndex index = key == null || key.isEmpty() ? null : workspaces.getIfPresent(key.get());
+        if (index == null) return;
+        if (event.getCurrent() == null) {
+            index.remove(new Suggestion(Suggestion.Type.TASK, event.getTaskId(), null).key());
+            index.remove(new Suggestion(Suggestion.Type.REFERENCE, event.getTaskId(), null).key());
+        } else {
+            putTask(index, event.getCurrent());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(WorkspaceMembershipChangedEvent event) {
+        WorkspaceKey key = new WorkspaceKey(event.getWorkspaceType(), event.getWorkspaceId());
+        members.invalidate(new MemberKey(key, event.getMember().getUserId()));
+        PrefixIndex index = workspaces.getIfPresent(key);
+        if (index == null) return;
+        if (event.isJoined()) putMember(index, event.getMember());
+        else index.remove(new Suggestion(Suggestion.Type.USER, event.getMember().getUserId(), null).key());
+    }
+
+    private Optional<WorkspaceKey> findWorkspace(Long projectId) {
+        Optional<Long> official = officialWorkspaceRepository.findIdByProjectId(projectId);
+        if (official.isPresent()) return Optional.of(new WorkspaceKey(WorkSpaceType.OFFICIAL, official.get()));
+        return personalWorkspaceRepository.findIdByProjectId(projectId)
+                .map(id -> new WorkspaceKey(WorkSpaceType.PERSONAL, id));
+    }
+
+    private static void putTask(PrefixIndex index, TaskSummary task) {
+        index.put(new Suggestion(Suggestion.Type.TASK, task.getId(), task.getName()));
+        index.put(new Suggestion(Suggestion.Type.REFERENCE, task.getId(), task.getTaskReference()));
+    }
+
+    private static void putMember(PrefixIndex index, MemberName member) {
+        index.put(new Suggestion(Suggestion.Type.USER, member.getUserId(), member.fullName()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, workspaces, "typeaheadWorkspaces");
+    }
+
+    private static final class WorkspaceKey {
+        private final WorkSpaceType type;
+        private final Long id;
+
+        private WorkspaceKey(WorkSpaceType type, Long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof WorkspaceKey)) return false;
+            WorkspaceKey that = (WorkspaceKey) o;
+            return type == that.type && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
+    }
+
+    private static final class MemberKey {
+        private final WorkspaceKey workspace;
+        private final Long userId;
+
+        private MemberKey(WorkspaceKey workspace, Long userId) {
+            this.workspace = workspace;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MemberKey)) return false;
+            MemberKey that = (MemberKey) o;
+            return workspace.equals(that.workspace) && userId.equals(that.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * workspace.hashCode() + userId.hashCode();
+        }
+    }
+}
@@ -4,6 +4,10 @@ import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvValidationException;
 import com.trailiva.data.model.*;
 import com.trailiva.data.repository.*;
+import com.trailiva.data.projection.MemberName;
+import com.trailiva.event.UserAccessChangedEvent;
+import com.trailiva.event.WorkspaceMembershipChangedEvent;
+import com.trailiva.service.TaskParticipants;
 import com.trailiva.web.exceptions.TaskException;
 import com.trailiva.web.exceptions.TokenException;
 import com.trailiva.web.exceptions.UserException;
@@ -11,7 +15,9 @@ import com.trailiva.web.exceptions.WorkspaceException;
 import com.trailiva.web.payload.request.AssignTaskRequest;
 import com.trailiva.web.payload.request.WorkspaceRequest;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileReader;
@@ -33,24 +39,27 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final OfficialWorkspaceRepository officialWorkspaceRepository;
-    private final WorkspaceRequestTokenRepository workspaceRequestTokenRepository;
-    private final TaskRequestTokenRepository taskRequestTokenRepository;
+    private final TokenRepository tokenRepository;
     private final TaskRepository taskRepository;
+    private final TaskParticipants taskParticipants;
+    private final ApplicationEventPublisher eventPublisher;
 
     public OfficialWorkspaceServiceImpl(
             ModelMapper modelMapper, UserRepository userRepository,
             RoleRepository roleRepository, OfficialWorkspaceRepository officialWorkspaceRepository,
-            WorkspaceRequestTokenRepository workspaceRequestTokenRepository,
-            TaskRequestTokenRepository taskRequestTokenRepository,
-            TaskRepository taskRepository) {
+            TokenRepository tokenRepository,
+            TaskRepository taskRepository,
+            TaskParticipants taskParticipants,
+            ApplicationEventPublisher eventPublisher) {
 
         this.modelMapper = modelMapper;
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.officialWorkspaceRepository = officialWorkspaceRepository;
-        this.workspaceRequestTokenRepository = workspaceRequestTokenRepository;
-        this.taskRequestTokenRepository = taskRequestTokenRepository;
+        this.tokenRepository = tokenRepository;
         this.taskRepository = taskRepository;
+        this.taskParticipants = taskParticipants;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -63,6 +72,8 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
         OfficialWorkspace saveWorkspace = saveOfficialWorkspace(workSpace);
         user.setOfficialWorkspace(saveWorkspace);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(this, user.getEmail()));
+        publishMembership(saveWorkspace, user, true);
         return saveWorkspace;
     }
 
@@ -127,19 +138,21 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
     }
 
     @Override
+    @Transactional
     public void addContributor(String requestToken) throws TokenException, UserException {
-        WorkspaceRequestToken token = getWorkspaceRequestToken(requestToken, WORKSPACE_REQUEST.toString());
+        Token token = getWorkspaceRequestToken(requestToken, WORKSPACE_REQUEST.toString());
         if (isValidToken(token.getExpiryDate())) throw new TokenException("Token has expired");
-        onboardContributor(token.getWorkspace(), token.getUser());
-        workspaceRequestTokenRepository.delete(token);
+        onboardContributor(getTokenWorkspace(token), token.getUser());
+        tokenRepository.delete(token);
     }
 
     @Override
+    @Transactional
     public void addModerator(String requestToken) throws TokenException, UserException {
-        WorkspaceRequestToken token = getWorkspaceRequestToken(requestToken, WORKSPACE_REQUEST.toString());
+        Token token = getWorkspaceRequestToken(requestToken, WORKSPACE_REQUEST.toString());
         if (isValidToken(token.getExpiryDate())) throw new TokenException("Token has expired");
-        onboardModerator(token.getWorkspace(), token.getUser());
-        workspaceRequestTokenRepository.delete(token);
+        onboardModerator(getTokenWorkspace(token), token.getUser());
+        tokenRepository.delete(token);
     }
 
 
@@ -147,14 +160,20 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
     public void removeContributor(Long userId, Long contributorId) throws UserException, WorkspaceException {
         OfficialWorkspace workspace = getUserOfficialWorkspace(userId);
         User user = getAUserById(contributorId);
-        workspace.getContributors().remove(user);
+        if (workspace.getContributors().remove(user)) {
+            saveOfficialWorkspace(workspace);
+            publishMembership(workspace, user, false);
+        }
     }
 
     @Override
     public void removeModerator(Long userId, Long moderatorId) throws UserException, WorkspaceException {
         OfficialWorkspace workspace = getUserOfficialWorkspace(userId);
         User moderator = getAUserById(moderatorId);
-        workspace.getModerators().remove(moderator);
+        if (workspace.getModerators().remove(moderator)) {
+            saveOfficialWorkspace(workspace);
+            publishMembership(workspace, moderator, false);
+        }
     }
 
     @Override
@@ -201,8 +220,8 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
         task.setRequested(true);
 
         taskRepository.save(task);
-        TaskRequestToken requestToken = new TaskRequestToken(token, user, TASK_REQUEST.toString(), task);
-        taskRequestTokenRepository.save(requestToken);
+        Token requestToken = new Token(token, user, TASK_REQUEST.toString(), task.getId());
+        tokenRepository.save(requestToken);
 
 
 
@@ -216,13 +235,14 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
     }
 
     @Override
+    @Transactional
     public void assignTaskToContributorWithRequestToken(Long moderatorId, String requestToken) throws
             TokenException, TaskException, UserException {
-        TaskRequestToken token = taskRequestTokenRepository.findByTokenAndTokenType(requestToken,
+        Token token = tokenRepository.findByTokenAndTokenType(requestToken,
                 TASK_REQUEST.toString()).orElseThrow(() -> new TokenException("Token is invalid"));
         if (isValidToken(token.getExpiryDate())) throw new TokenException("Token has expired");
-        assignTask(moderatorId, token.getUser().getUserId(), token.getTask().getId());
-        taskRequestTokenRepository.delete(token);
+        assignTask(moderatorId, token.getUser().getUserId(), token.getTargetId());
+        tokenRepository.delete(token);
     }
 
     private void assignTask(Long moderatorId, Long contributorId, Long taskId) throws TaskException, UserException {
@@ -234,6 +254,7 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
         task.setAssigned(true);
         task.setReporter(reporter);
         taskRepository.save(task);
+        taskParticipants.assigned(task);
     }
 
     private Task getATaskById(Long taskId) throws TaskException {
@@ -241,8 +262,13 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
                 () -> new TaskException("Task not found"));
     }
 
-    private WorkspaceRequestToken getWorkspaceRequestToken(String token, String tokenType) throws TokenException {
-        return workspaceRequestTokenRepository.findByTokenAndTokenType(token, tokenType)
+    private Token getWorkspaceRequestToken(String token, String tokenType) throws TokenException {
+        return tokenRepository.findByTokenAndTokenType(token, tokenType)
+                .orElseThrow(() -> new TokenException("Invalid token"));
+    }
+
+    private OfficialWorkspace getTokenWorkspace(Token token) throws TokenException {
+        return officialWorkspaceRepository.findById(token.getTargetId())
                 .orElseThrow(() -> new TokenException("Invalid token"));
     }
 
@@ -254,6 +280,7 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
         }
         workspace.getContributors().add(User);
         saveOfficialWorkspace(workspace);
+        publishMembership(workspace, User, true);
     }
 
     private void onboardModerator(OfficialWorkspace workspace, User moderator) throws UserException {
@@ -265,6 +292,14 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
         moderator.getRoles().add(roleRepository.findByName("ROLE_MODERATOR").get());
         workspace.getModerators().add(moderator);
         saveOfficialWorkspace(workspace);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(this, moderator.getEmail()));
+        publishMembership(workspace, moderator, true);
+    }
+
+    private void publishMembership(OfficialWorkspace workspace, User user, boolean joined) {
+        MemberName member = new MemberName(user.getUserId(), user.getFirstName(), user.getLastName());
+        eventPublisher.publishEvent(new WorkspaceMembershipChangedEvent(this, WorkSpaceType.OFFICIAL,
+                workspace.getWorkspaceId(), member, joined));
     }
 
 
@@ -290,9 +325,9 @@ public class OfficialWorkspaceServiceImpl implements OfficialWorkspaceService {
         String token = UUID.randomUUID().toString();
         OfficialWorkspace workspace = user.getOfficialWorkspace();
 
-        WorkspaceRequestToken requestToken = new WorkspaceRequestToken(token, user, WORKSPACE_REQUEST.toString(),
-                workspace);
-        workspaceRequestTokenRepository.save(requestToken);
+        if (workspace == null) throw new WorkspaceException("User does not have an official workspace");
+        Token requestToken = new Token(token, user, WORKSPACE_REQUEST.toString(), workspace.getWorkspaceId());
+        tokenRepository.save(requestToken);
 //        emailService.sendWorkspaceRequestTokenEmail(email, requestToken.getToken());
     }
 }
@@ -1,11 +1,16 @@
 package com.trailiva.specification;
 
+import com.trailiva.data.model.ParticipantRole;
 import com.trailiva.data.model.Task;
+import com.trailiva.data.model.TaskParticipant;
 import com.trailiva.util.Helper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class TaskSpecifications {
 
@@ -23,11 +28,29 @@ public final class TaskSpecifications {
         return ((root, query, criteriaBuilder) -> criteriaBuilder.like(root.get("description"), wildcard));
     }
 
-    public static Specification<Task> withUser(String creatorId){
-        if (Helper.isNullOrEmpty(creatorId))
+    public static Specification<Task> inProject(Long projectId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("project").get("projectId"), projectId);
+    }
+
+    public static Specification<Task> withTab(String tab) {
+        if (Helper.isNullOrEmpty(tab))
+            return null;
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("tab"), tab);
+    }
+
+    /**
+     * Tasks in which {@code userId} plays {@code role}, read from the task participant index.
+     */
+    public static Specification<Task> withParticipant(Long userId, ParticipantRole role) {
+        if (userId == null)
             return null;
-        return (root, query, criteriaBuilder) -> criteriaBuilder.or(criteriaBuilder.equal(root.get("creator").get("userId"),
-                creatorId), criteriaBuilder.equal(root.get("reporter").get("userId"),
-                creatorId), criteriaBuilder.equal(root.get("assignee").get("userId"), creatorId));
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> participations = query.subquery(Long.class);
+            Root<TaskParticipant> participant = participations.from(TaskParticipant.class);
+            participations.select(participant.get("taskId"))
+                    .where(criteriaBuilder.equal(participant.get("userId"), userId),
+                            criteriaBuilder.equal(participant.get("role"), role));
+            return root.get("id").in(participations);
+        };
     }
 }
@@ -1,45 +1,61 @@
 package com.trailiva.util;
 
-import com.trailiva.data.model.Task;
-import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.data.repository.RefreshTokenRepository;
 import com.trailiva.data.repository.TokenRepository;
-import com.trailiva.service.AuthService;
-import com.trailiva.service.TaskService;
+import com.trailiva.service.DueTaskElapseEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
-import java.util.List;
+import java.util.function.IntUnaryOperator;
 
 
 @Component
 @EnableScheduling
 @Slf4j
 public class Scheduler {
+    private static final int PURGE_BATCH_SIZE = 1000;
 
     private final TokenRepository tokenRepository;
-    private final TaskRepository taskRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final DueTaskElapseEngine dueTaskElapseEngine;
 
-    public Scheduler(TokenRepository tokenRepository, TaskRepository taskRepository) {
-        this.taskRepository = taskRepository;
+    public Scheduler(TokenRepository tokenRepository, RefreshTokenRepository refreshTokenRepository,
+                     DueTaskElapseEngine dueTaskElapseEngine) {
         this.tokenRepository = tokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.dueTaskElapseEngine = dueTaskElapseEngine;
     }
 
-    @Scheduled(cron = "0 0 12 * * *") //12noon every day
+    /**
+     * Tasks are elapsed by {@link DueTaskElapseEngine} as they fall due; this daily pass only
+     * catches rows the engine could not see, such as due dates changed directly in the database.
+     */
+    @Scheduled(cron = "0 5 0 * * *") //five past midnight every day
     public void verifyDueTask() {
         log.info("============ TASK UPDATE SCHEDULER STARTED ===========");
-        taskRepository.updateDueTask();
+        int elapsed = dueTaskElapseEngine.reconcile();
+        log.info("Reconciled {} overdue tasks", elapsed);
         log.info("============ TASK UPDATE SCHEDULER ENDED ===========");
     }
 
-    @Scheduled(cron = "0 0 12 * * *") //12noon every day
-    @Transactional
+    @Scheduled(cron = "0 0 * * * *") //every hour
     public void getExpiredToken(){
         log.info("============ TOKEN SCHEDULER STARTED ===========");
-        tokenRepository.deleteExpiredToken();
+        int requestTokens = purge(tokenRepository::deleteExpiredToken);
+        int refreshTokens = purge(refreshTokenRepository::deleteExpiredToken);
+        log.info("Purged {} request tokens and {} refresh tokens", requestTokens, refreshTokens);
         log.info("============ TOKEN SCHEDULER ENDED ===========");
     }
+
+    private int purge(IntUnaryOperator deleteChunk) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        return total;
+    }
 }
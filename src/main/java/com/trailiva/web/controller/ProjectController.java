@@ -2,22 +2,32 @@ package com.trailiva.web.controller;
 
 import com.opencsv.exceptions.CsvValidationException;
 import com.trailiva.data.model.Project;
-import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.TaskSummary;
 import com.trailiva.security.CurrentUser;
 import com.trailiva.security.UserPrincipal;
 import com.trailiva.service.ProjectService;
+import com.trailiva.service.TaskEventBroadcaster;
+import com.trailiva.service.TaskExporter;
+import com.trailiva.util.AppConstants;
 import com.trailiva.util.Helper;
+import com.trailiva.web.exceptions.BadRequestException;
 import com.trailiva.web.exceptions.ProjectException;
 import com.trailiva.web.exceptions.TokenException;
 import com.trailiva.web.exceptions.UserException;
 import com.trailiva.web.exceptions.WorkspaceException;
 import com.trailiva.web.payload.request.ProjectRequest;
 import com.trailiva.web.payload.response.ApiResponse;
+import com.trailiva.web.payload.response.CursorPage;
+import com.trailiva.web.payload.response.TaskCounts;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.io.IOException;
@@ -29,9 +39,14 @@ import java.util.List;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final TaskEventBroadcaster taskEventBroadcaster;
+    private final TaskExporter taskExporter;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, TaskEventBroadcaster taskEventBroadcaster,
+                             TaskExporter taskExporter) {
         this.projectService = projectService;
+        this.taskEventBroadcaster = taskEventBroadcaster;
+        this.taskExporter = taskExporter;
     }
 
 
@@ -68,15 +83,49 @@ public class ProjectController {
 
     @GetMapping("project/{projectId}")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
-    public ResponseEntity<?> getAllTaskInProject(@PathVariable Long projectId) {
+    public ResponseEntity<?> getAllTaskInProject(@PathVariable Long projectId,
+                                                 @RequestParam(value = "tab", required = false) String tab,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size,
+                                                 @RequestParam(value = "sort", defaultValue = "recent") String sort,
+                                                 @RequestParam(value = "count", defaultValue = "false") boolean count) {
         try {
-            List<Task> tasks = projectService.getTasksByProjectId(projectId);
+            CursorPage<TaskSummary> tasks = projectService.getTasksByProjectId(projectId, tab, cursor, size, sort, count);
             return ResponseEntity.ok(tasks);
-        } catch (ProjectException e) {
+        } catch (ProjectException | BadRequestException e) {
             return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
+    /**
+     * Returns the emitter itself so Spring's emitter return value handler starts the async
+     * response; an unknown project is turned into a 400 by the controller advice.
+     */
+    @GetMapping("project/{projectId}/events")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public SseEmitter streamTaskChanges(@PathVariable Long projectId) throws ProjectException {
+        projectService.getProjectById(projectId);
+        return taskEventBroadcaster.subscribe(projectId);
+    }
+
+    /**
+     * Declared as {@code ResponseEntity<StreamingResponseBody>} so the streaming return value
+     * handler writes the body; unknown projects and formats become 400s in the controller advice.
+     */
+    @GetMapping("project/{projectId}/export")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@PathVariable Long projectId,
+                                                             @RequestParam(value = "format", defaultValue = "ndjson") String format)
+            throws ProjectException, BadRequestException {
+        TaskExporter.Format exportFormat = TaskExporter.Format.fetchFormat(format);
+        StreamingResponseBody body = taskExporter.export(projectId, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("project-" + projectId + "-tasks." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("count-tasks/{projectId}")
     public ResponseEntity<?> getTaskCount(@PathVariable Long projectId) {
         try {
@@ -87,6 +136,16 @@ public class ProjectController {
         }
     }
 
+    @GetMapping("count-tasks/{projectId}/breakdown")
+    public ResponseEntity<?> getTaskCountBreakdown(@PathVariable Long projectId) {
+        try {
+            TaskCounts taskCounts = projectService.getTaskCounts(projectId);
+            return ResponseEntity.ok(new ApiResponse(true, "Task is successfully counted", taskCounts));
+        } catch (ProjectException e) {
+            return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PostMapping("/add-contributor/request-token")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     public ResponseEntity<?> addModerator(@RequestParam("requestToken") String requestToken) {
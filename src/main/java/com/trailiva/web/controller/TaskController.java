@@ -3,13 +3,21 @@ package com.trailiva.web.controller;
 
 import com.trailiva.data.model.Priority;
 import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.security.CurrentUser;
+import com.trailiva.security.UserPrincipal;
+import com.trailiva.service.BulkTaskService;
 import com.trailiva.service.TaskService;
 import com.trailiva.util.AppConstants;
 import com.trailiva.web.exceptions.BadRequestException;
 import com.trailiva.web.exceptions.ProjectException;
 import com.trailiva.web.exceptions.TaskException;
+import com.trailiva.web.payload.request.TaskOperation;
 import com.trailiva.web.payload.request.TaskRequest;
 import com.trailiva.web.payload.response.ApiResponse;
+import com.trailiva.web.payload.response.BoardColumn;
+import com.trailiva.web.payload.response.CursorPage;
+import com.trailiva.web.payload.response.TaskOperationResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,22 +31,37 @@ import java.util.Map;
 @RequestMapping("api/v1/trailiva/tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final BulkTaskService bulkTaskService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, BulkTaskService bulkTaskService) {
         this.taskService = taskService;
+        this.bulkTaskService = bulkTaskService;
     }
 
     @PostMapping("/create/{projectId}")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
-    public ResponseEntity<?> register(@RequestBody @Valid TaskRequest request, @PathVariable Long projectId) {
+    public ResponseEntity<?> register(@CurrentUser UserPrincipal currentUser, @RequestBody @Valid TaskRequest request,
+                                      @PathVariable Long projectId) {
         try {
-            Task task = taskService.createTask(request, projectId);
+            Task task = taskService.createTask(request, projectId, currentUser.getId());
             return new ResponseEntity<>(task, HttpStatus.CREATED);
         } catch (TaskException | ProjectException e) {
             return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
+    @PostMapping("/bulk/{projectId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<?> applyBulk(@CurrentUser UserPrincipal currentUser, @RequestBody List<TaskOperation> operations,
+                                       @PathVariable Long projectId) {
+        try {
+            List<TaskOperationResult> results = bulkTaskService.apply(projectId, operations, currentUser.getId());
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (ProjectException | BadRequestException e) {
+            return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PatchMapping("/update/{taskId}")
     public ResponseEntity<?> updateTask(@RequestBody @Valid TaskRequest taskRequest, @PathVariable Long taskId) {
         try {
@@ -87,13 +110,39 @@ public class TaskController {
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     public ResponseEntity<?> updateTaskPriority(@PathVariable Priority taskPriority, @PathVariable Long projectId) {
         try {
-            List<Task> tasks = taskService.filterTaskByPriority(projectId, taskPriority);
+            List<TaskSummary> tasks = taskService.filterTaskByPriority(projectId, taskPriority);
             return new ResponseEntity<>(tasks, HttpStatus.OK);
         } catch (TaskException | ProjectException exception) {
             return new ResponseEntity<>(new ApiResponse(false, exception.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
+    @GetMapping("/mine")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<?> getMyTasks(@CurrentUser UserPrincipal currentUser,
+                                        @RequestParam(value = "role", required = false) String role,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            CursorPage<TaskSummary> tasks = taskService.getUserTasks(currentUser.getId(), role, cursor, size);
+            return new ResponseEntity<>(tasks, HttpStatus.OK);
+        } catch (BadRequestException e) {
+            return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/board/{projectId}")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<?> getBoard(@PathVariable Long projectId,
+                                      @RequestParam(value = "size", defaultValue = AppConstants.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            List<BoardColumn> board = taskService.getBoard(projectId, size);
+            return new ResponseEntity<>(board, HttpStatus.OK);
+        } catch (ProjectException | BadRequestException e) {
+            return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     public ResponseEntity<?> searchForTask(@RequestParam(value = "page", defaultValue = AppConstants.DEFAULT_PAGE_NUMBER) int page,
@@ -2,8 +2,11 @@ package com.trailiva.web.controller.workspace;
 
 import com.opencsv.exceptions.CsvValidationException;
 import com.trailiva.data.model.OfficialWorkspace;
+import com.trailiva.data.model.WorkSpaceType;
+import com.trailiva.data.projection.Suggestion;
 import com.trailiva.security.CurrentUser;
 import com.trailiva.security.UserPrincipal;
+import com.trailiva.service.WorkspaceTypeahead;
 import com.trailiva.service.workspace.OfficialWorkspaceService;
 import com.trailiva.util.Helper;
 import com.trailiva.web.exceptions.TaskException;
@@ -31,9 +34,11 @@ import java.util.Map;
 @RequestMapping("api/v1/trailiva/official")
 public class OfficialWorkspaceController {
     private final OfficialWorkspaceService officialWorkspaceService;
+    private final WorkspaceTypeahead workspaceTypeahead;
 
-    public OfficialWorkspaceController(OfficialWorkspaceService officialWorkspaceService) {
+    public OfficialWorkspaceController(OfficialWorkspaceService officialWorkspaceService, WorkspaceTypeahead workspaceTypeahead) {
         this.officialWorkspaceService = officialWorkspaceService;
+        this.workspaceTypeahead = workspaceTypeahead;
     }
 
     @PostMapping("/create")
@@ -233,4 +238,17 @@ public class OfficialWorkspaceController {
             return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
+
+    @GetMapping("/{workspaceId}/typeahead")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<?> typeahead(@CurrentUser UserPrincipal currentUser, @PathVariable Long workspaceId,
+                                       @RequestParam("q") String prefix,
+                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            List<Suggestion> suggestions = workspaceTypeahead.suggest(WorkSpaceType.OFFICIAL, workspaceId, currentUser.getId(), prefix, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (WorkspaceException e) {
+            return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -1,8 +1,11 @@
 package com.trailiva.web.controller.workspace;
 
 import com.trailiva.data.model.PersonalWorkspace;
+import com.trailiva.data.model.WorkSpaceType;
+import com.trailiva.data.projection.Suggestion;
 import com.trailiva.security.CurrentUser;
 import com.trailiva.security.UserPrincipal;
+import com.trailiva.service.WorkspaceTypeahead;
 import com.trailiva.service.workspace.PersonalWorkspaceService;
 import com.trailiva.web.exceptions.UserException;
 import com.trailiva.web.exceptions.WorkspaceException;
@@ -24,9 +27,11 @@ import java.util.Map;
 @RequestMapping("api/v1/trailiva/personal")
 public class PersonalWorkspaceController {
     private final PersonalWorkspaceService personalWorkspaceService;
+    private final WorkspaceTypeahead workspaceTypeahead;
 
-    public PersonalWorkspaceController(PersonalWorkspaceService personalWorkspaceService) {
+    public PersonalWorkspaceController(PersonalWorkspaceService personalWorkspaceService, WorkspaceTypeahead workspaceTypeahead) {
         this.personalWorkspaceService = personalWorkspaceService;
+        this.workspaceTypeahead = workspaceTypeahead;
     }
 
     @PostMapping("/create")
@@ -71,5 +76,16 @@ public class PersonalWorkspaceController {
         return ResponseEntity.ok(new ApiResponse(true, "Successful", userCount));
     }
 
-
+    @GetMapping("/{workspaceId}/typeahead")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    public ResponseEntity<?> typeahead(@CurrentUser UserPrincipal currentUser, @PathVariable Long workspaceId,
+                                       @RequestParam("q") String prefix,
+                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            List<Suggestion> suggestions = workspaceTypeahead.suggest(WorkSpaceType.PERSONAL, workspaceId, currentUser.getId(), prefix, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (WorkspaceException e) {
+            return new ResponseEntity<>(new ApiResponse(false, e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.trailiva.web.exceptions;
 
 import com.trailiva.web.payload.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -18,6 +19,23 @@ public class CustomControllerAdvice {
         return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(new ApiResponse(false, "File too large!"));
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<?> handlePasswordHashingRejected(PasswordHashingRejectedException exc) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse(false, exc.getMessage()));
+    }
+
+    @ExceptionHandler(ProjectException.class)
+    public ResponseEntity<?> handleProjectException(ProjectException exc) {
+        return new ResponseEntity<>(new ApiResponse(false, exc.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<?> handleBadRequest(BadRequestException exc) {
+        return new ResponseEntity<>(new ApiResponse(false, exc.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<?> handle(Exception e) {
@@ -0,0 +1,11 @@
+package com.trailiva.web.exceptions;
+
+/**
+ * Thrown when the password hashing executor is saturated. Unchecked because it has to
+ * travel through {@link org.springframework.security.crypto.password.PasswordEncoder}.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.trailiva.web.payload.request;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One entry of a bulk task request. {@code task} is read by CREATE, {@code tab} by MOVE,
+ * {@code priority} by PRIORITIZE and {@code taskId} by every type but CREATE.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskOperation {
+    public enum Type {CREATE, MOVE, PRIORITIZE, DELETE}
+
+    private Type type;
+    private Long taskId;
+    private TaskRequest task;
+    private String tab;
+    private String priority;
+}
@@ -0,0 +1,18 @@
+package com.trailiva.web.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.trailiva.data.projection.TaskSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardColumn {
+    private final String tab;
+    private final long total;
+    private final List<TaskSummary> tasks;
+    private final String nextCursor;
+}
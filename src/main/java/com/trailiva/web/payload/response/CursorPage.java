@@ -0,0 +1,27 @@
+package com.trailiva.web.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+    private final List<T> data;
+    private final String nextCursor;
+    private final Long recordsTotal;
+
+    /**
+     * Builds a page from {@code size + 1} rows read ahead: the extra row only tells whether
+     * there is a next page, whose cursor is taken from the last row kept.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf, Long recordsTotal) {
+        if (rows.size() <= size) return new CursorPage<>(rows, null, recordsTotal);
+        List<T> page = rows.subList(0, size);
+        return new CursorPage<>(page, cursorOf.apply(page.get(size - 1)), recordsTotal);
+    }
+}
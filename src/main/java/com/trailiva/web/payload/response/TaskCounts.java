@@ -0,0 +1,16 @@
+package com.trailiva.web.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class TaskCounts {
+    private final long total;
+    private final Map<String, Long> tabs;
+    private final Map<String, Long> priorities;
+    private final long assigned;
+    private final long elapsed;
+}
@@ -0,0 +1,28 @@
+package com.trailiva.web.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.event.TaskChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Change pushed to board subscribers. {@code task} is the new state and is absent for deletions;
+ * {@code previousTab} is set only when the task moved between tabs.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskDelta {
+    private final String type;
+    private final Long taskId;
+    private final TaskSummary task;
+    private final String previousTab;
+
+    public static TaskDelta of(TaskChangedEvent event) {
+        String previousTab = event.getPrevious() == null ? null : event.getPrevious().getTab();
+        if (event.getCurrent() != null && previousTab != null && previousTab.equals(event.getCurrent().getTab()))
+            previousTab = null;
+        return new TaskDelta(event.getType().toString(), event.getTaskId(), event.getCurrent(), previousTab);
+    }
+}
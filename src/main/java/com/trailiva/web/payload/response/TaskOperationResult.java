@@ -0,0 +1,23 @@
+package com.trailiva.web.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskOperationResult {
+    private final int index;
+    private final boolean success;
+    private final Long taskId;
+    private final String message;
+
+    public static TaskOperationResult success(int index, Long taskId) {
+        return new TaskOperationResult(index, true, taskId, null);
+    }
+
+    public static TaskOperationResult failure(int index, Long taskId, String message) {
+        return new TaskOperationResult(index, false, taskId, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.trailiva.data.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskTest {
+
+    @Test
+    void update_keepsTheDisambiguatedKeyOfALegacyDuplicate() {
+        Task task = new Task();
+        task.setId(12L);
+        task.setName(" Write Docs");
+        task.setNameKey("write docs#12");
+
+        task.setDescription("only the description changed");
+        task.renormalizeName();
+        assertEquals("write docs#12", task.getNameKey());
+
+        task.setName("Review docs");
+        task.renormalizeName();
+        assertEquals("review docs", task.getNameKey());
+    }
+}
@@ -3,6 +3,7 @@ package com.trailiva.security;
 import com.trailiva.data.model.Role;
 import com.trailiva.data.model.User;
 import com.trailiva.data.repository.UserRepository;
+import com.trailiva.util.AppConstants;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +12,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,6 +40,9 @@ class SecurityTest {
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(100, 60);
+
     @InjectMocks
     private CustomUserDetailService customUserDetailsService;
 
@@ -47,7 +57,6 @@ class SecurityTest {
         mockedUser.setPassword("pass1234");
         Role role = new Role("ROLE_USER");
         mockedUser.getRoles().add(role);
-        MockitoAnnotations.openMocks(this);
     }
 
     @AfterEach
@@ -81,6 +90,24 @@ class SecurityTest {
         );
     }
 
+    @Test
+    @DisplayName("Cached principal is served without hitting the database until it is invalidated")
+    void principal_isServedFromCacheUntilInvalidated() {
+        when(userRepository.findByEmail("ohida2001@gmail.com"))
+                .thenReturn(Optional.of(mockedUser));
+
+        customUserDetailsService.loadUserByUsername("ohida2001@gmail.com");
+        customUserDetailsService.loadUserByUsername("ohida2001@gmail.com");
+        verify(userRepository, times(1)).findByEmail("ohida2001@gmail.com");
+
+        principalCache.invalidate("ohida2001@gmail.com");
+        customUserDetailsService.loadUserByUsername("ohida2001@gmail.com");
+
+        verify(userRepository, times(2)).findByEmail("ohida2001@gmail.com");
+        assertEquals(1, principalCache.stats().hitCount());
+        assertEquals(2, principalCache.stats().missCount());
+    }
+
     /**
      * Jwt Token Test
      */
@@ -151,4 +178,146 @@ class SecurityTest {
         //Assert
         assertFalse(isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Principal can be rebuilt from the signed claims without a database lookup")
+    void principal_canBeRebuiltFromTokenClaims() {
+        mockedUser.setUserId(7L);
+        mockedUser.setEnabled(true);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(new JwtKeyRing(AppConstants.JWT_SECRET, 24), 100, 30);
+
+        String jwtToken = tokenProvider.generateToken(UserPrincipal.create(mockedUser));
+        UserPrincipal principal = UserPrincipal.create(tokenProvider.verify(jwtToken).orElseThrow());
+
+        assertAll(
+                () -> assertEquals(7L, principal.getId()),
+                () -> assertEquals(mockedUser.getEmail(), principal.getEmail()),
+                () -> assertTrue(principal.isEnabled()),
+                () -> assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority())
+        );
+    }
+
+    @Test
+    @DisplayName("A token is verified once and then served from the verified token cache")
+    void token_isVerifiedOnceAndThenCached() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(new JwtKeyRing(AppConstants.JWT_SECRET, 24), 100, 30);
+        String jwtToken = tokenProvider.generateToken(UserPrincipal.create(mockedUser));
+
+        VerifiedToken first = tokenProvider.verify(jwtToken).orElseThrow();
+        VerifiedToken second = tokenProvider.verify(jwtToken).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(mockedUser.getEmail(), first.getSubject());
+        assertTrue(tokenProvider.verify(jwtToken + "x").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A token signed with a key outside the key ring is rejected")
+    void token_signedWithForeignKeyIsRejected() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(new JwtKeyRing(AppConstants.JWT_SECRET, 24), 100, 30);
+        JwtTokenProvider foreignProvider = new JwtTokenProvider(new JwtKeyRing("AnotherDeploymentSecret", 24), 100, 30);
+
+        String foreignToken = foreignProvider.generateToken(UserPrincipal.create(mockedUser));
+
+        assertTrue(foreignProvider.verify(foreignToken).isPresent());
+        assertTrue(tokenProvider.verify(foreignToken).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Claims issued before an access change are treated as revoked")
+    void claims_issuedBeforeAccessChangeAreRevoked() {
+        TokenRevocationList revocationList = new TokenRevocationList();
+        Date issuedAt = new Date(System.currentTimeMillis() - 1000);
+
+        assertFalse(revocationList.isRevoked(mockedUser.getEmail(), issuedAt));
+        revocationList.revoke(mockedUser.getEmail());
+        assertTrue(revocationList.isRevoked(mockedUser.getEmail(), issuedAt));
+    }
+
+    @Test
+    @DisplayName("Passwords are hashed and matched on the bounded hashing pool")
+    void password_hashedOnBoundedPool() {
+        BoundedPasswordEncoder passwordEncoder = new BoundedPasswordEncoder(4, 1, 1);
+        try {
+            String hash = passwordEncoder.encode("pass1234");
+
+            assertTrue(passwordEncoder.matches("pass1234", hash));
+            assertFalse(passwordEncoder.matches("wrong", hash));
+            assertEquals(0, passwordEncoder.queueDepth());
+        } finally {
+            passwordEncoder.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Token bucket admits a burst, then refills over time")
+    void tokenBucket_admitsBurstThenRefills() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(1_000_000_000L, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(1_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("Public routes are resolved from the route table without reading a token")
+    void routeTable_resolvesAccessPerRoute() {
+        RouteTable routeTable = new RouteTable(true);
+
+        assertEquals(RouteTable.Access.PUBLIC,
+                routeTable.resolve(new MockHttpServletRequest("POST", "/api/v1/trailiva/auth/login")).getAccess());
+        assertEquals(RouteTable.Access.OPTIONAL,
+                routeTable.resolve(new MockHttpServletRequest("GET", "/api/v1/trailiva/users/profile")).getAccess());
+        assertEquals(RouteTable.Access.AUTHENTICATED,
+                routeTable.resolve(new MockHttpServletRequest("POST", "/api/v1/trailiva/users/delete")).getAccess());
+        assertEquals(RouteTable.Access.PUBLIC,
+                routeTable.resolve(new MockHttpServletRequest("GET", "/swagger-ui/index.html")).getAccess());
+        assertEquals("other", routeTable.resolve(new MockHttpServletRequest("GET", "/unknown")).getName());
+    }
+
+    @Test
+    @DisplayName("Api docs require a token unless they are made public")
+    void routeTable_keepsApiDocsPrivateByDefault() {
+        RouteTable routeTable = new RouteTable(false);
+
+        assertEquals(RouteTable.Access.AUTHENTICATED,
+                routeTable.resolve(new MockHttpServletRequest("GET", "/swagger-ui/index.html")).getAccess());
+        assertEquals(RouteTable.Access.AUTHENTICATED,
+                routeTable.resolve(new MockHttpServletRequest("GET", "/v2/api-docs")).getAccess());
+    }
+
+    @Test
+    @DisplayName("Login bodies are limited per email whatever their declared length")
+    void rateLimit_appliesEmailBucketToJsonBodies() throws Exception {
+        AuthRateLimitFilter filter = new AuthRateLimitFilter(true, 100, 1, 60, 1000);
+
+        assertEquals(200, login(filter, "{\"email\":\"Lola@mail.com\",\"password\":\"x\"}", new MockFilterChain()).getStatus());
+        assertEquals(429, login(filter, "{\"email\":\"lola@mail.com \",\"password\":\"y\"}", new MockFilterChain()).getStatus());
+        assertEquals(200, login(filter, "{\"email\":\"ade@mail.com\",\"password\":\"x\"}", new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Bodies too large to inspect share one email bucket and reach the controller whole")
+    void rateLimit_sharesOneBucketBetweenOversizedBodies() throws Exception {
+        AuthRateLimitFilter filter = new AuthRateLimitFilter(true, 100, 1, 60, 1000);
+        String padding = "x".repeat(9000);
+        String body = "{\"pad\":\"" + padding + "\",\"email\":\"lola@mail.com\"}";
+        MockFilterChain chain = new MockFilterChain();
+
+        assertEquals(200, login(filter, body, chain).getStatus());
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(429, login(filter, "{\"pad\":\"" + padding + "\",\"email\":\"ade@mail.com\"}",
+                new MockFilterChain()).getStatus());
+    }
+
+    private static MockHttpServletResponse login(AuthRateLimitFilter filter, String body, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", AuthRateLimitFilter.AUTH_PATH + "login");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
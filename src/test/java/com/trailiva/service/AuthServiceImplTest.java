@@ -27,7 +27,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.mail.MessagingException;
 import java.io.UnsupportedEncodingException;
@@ -61,11 +61,14 @@ class AuthServiceImplTest {
     private ModelMapper modelMapper;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     private User mockedUser;
 
     @InjectMocks
@@ -131,6 +134,7 @@ class AuthServiceImplTest {
 
         when(customUserDetailsService.loadUserByUsername(anyString())).thenReturn(fetchedUser);
         when(jwtTokenProvider.generateToken(any(UserPrincipal.class))).thenReturn(actualToken);
+        when(refreshTokenService.issue(any(User.class))).thenReturn(new RefreshToken(mockedUser));
 
         JwtTokenResponse jwtTokenResponse = authService.login(loginRequest);
         verify(customUserDetailsService, times(2)).loadUserByUsername(loginRequest.getEmail());
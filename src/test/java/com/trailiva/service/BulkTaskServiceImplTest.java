@@ -0,0 +1,136 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.Project;
+import com.trailiva.data.model.Task;
+import com.trailiva.data.repository.ProjectRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.exceptions.ProjectException;
+import com.trailiva.web.payload.request.TaskOperation;
+import com.trailiva.web.payload.request.TaskRequest;
+import com.trailiva.web.payload.response.TaskOperationResult;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkTaskServiceImplTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskFactory taskFactory;
+
+    @Mock
+    private TaskParticipants taskParticipants;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkTaskServiceImpl bulkTaskService;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        bulkTaskService = new BulkTaskServiceImpl(taskRepository, projectRepository, taskFactory, taskParticipants,
+                transactionManager, 2, 10);
+        project = new Project();
+        project.setProjectId(1L);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.getById(1L)).thenReturn(project);
+        AtomicInteger ids = new AtomicInteger(100);
+        when(taskFactory.newTask(any(TaskRequest.class), eq(project))).thenAnswer(invocation -> {
+            Task task = new Task();
+            task.setName(((TaskRequest) invocation.getArgument(0)).getName());
+            task.setId((long) ids.incrementAndGet());
+            return task;
+        });
+    }
+
+    @Test
+    void apply_reportsEveryOperationInOrder() throws ProjectException, BadRequestException {
+        Task existing = new Task();
+        existing.setId(7L);
+        existing.setProject(project);
+        when(taskRepository.findAllById(anySet())).thenAnswer(invocation ->
+                ((Set<?>) invocation.getArgument(0)).contains(7L) ? List.of(existing) : List.of());
+
+        List<TaskOperationResult> results = bulkTaskService.apply(1L, List.of(
+                create("Plan sprint"), move(7L, "progress"), move(9L, "progress"), create("plan sprint ")), 3L);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(101L, results.get(0).getTaskId());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals("IN_PROGRESS", existing.getTab());
+        assertEquals("Task not found", results.get(2).getMessage());
+        assertTrue(results.get(3).isSuccess());
+        verify(transactionManager, times(2)).commit(any());
+        verify(taskParticipants).created(List.of(101L), 3L);
+        verify(taskParticipants).created(List.of(102L), 3L);
+    }
+
+    @Test
+    void apply_replaysAFailedChunkItemByItem() throws ProjectException, BadRequestException {
+        when(taskRepository.findAllById(anySet())).thenReturn(List.of());
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("duplicate key"), Task.NAME_KEY_CONSTRAINT);
+        AtomicInteger flushes = new AtomicInteger();
+        doAnswer(invocation -> {
+            int flush = flushes.incrementAndGet();
+            if (flush == 1 || flush == 3) throw new DataIntegrityViolationException("duplicate", violation);
+            return null;
+        }).when(taskRepository).flush();
+
+        List<TaskOperationResult> results = bulkTaskService.apply(1L, List.of(create("Fresh"), create("Taken")), 3L);
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("This task already exist", results.get(1).getMessage());
+    }
+
+    @Test
+    void apply_rejectsOversizedRequests() {
+        List<TaskOperation> operations = Collections.nCopies(11, create("Task"));
+
+        assertThrows(BadRequestException.class, () -> bulkTaskService.apply(1L, operations, 3L));
+    }
+
+    private static TaskOperation create(String name) {
+        TaskRequest request = new TaskRequest();
+        request.setName(name);
+        TaskOperation operation = new TaskOperation();
+        operation.setType(TaskOperation.Type.CREATE);
+        operation.setTask(request);
+        return operation;
+    }
+
+    private static TaskOperation move(Long taskId, String tab) {
+        TaskOperation operation = new TaskOperation();
+        operation.setType(TaskOperation.Type.MOVE);
+        operation.setTaskId(taskId);
+        operation.setTab(tab);
+        return operation;
+    }
+}
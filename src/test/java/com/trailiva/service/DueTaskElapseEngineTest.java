@@ -0,0 +1,112 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.DueTask;
+import com.trailiva.data.projection.ElapsedTask;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.TaskElapsedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DueTaskElapseEngineTest {
+    private static final LocalDate TODAY = LocalDate.of(2022, 5, 10);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DueTaskElapseEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atTime(9, 0).atZone(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        engine = new DueTaskElapseEngine(taskRepository, new TransactionTemplate(transactionManager), eventPublisher,
+                null, clock, 2, 7);
+        when(taskRepository.findPendingDueBefore(TODAY.plusDays(7))).thenReturn(List.of(
+                new DueTask(1L, TODAY.minusDays(1)), new DueTask(2L, TODAY.minusDays(3)),
+                new DueTask(3L, TODAY.minusDays(1)), new DueTask(4L, TODAY)));
+        engine.rebuild();
+    }
+
+    @Test
+    void tick_elapsesOnlyOverdueTasksInBatches() {
+        when(taskRepository.elapseTasks(anyCollection(), eq(TODAY)))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).stream()
+                        .map(DueTaskElapseEngineTest::elapsed).collect(Collectors.toList()));
+
+        engine.tick();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository, times(2)).elapseTasks(batches.capture(), eq(TODAY));
+        assertEquals(3, batches.getAllValues().stream().mapToInt(Collection::size).sum());
+        verify(eventPublisher, times(3)).publishEvent(any(TaskElapsedEvent.class));
+        assertEquals(1, engine.scheduledCount());
+    }
+
+    @Test
+    void onTaskChanged_reschedulesAndUnschedules() {
+        engine.onTaskChanged(changed(4L, TODAY.minusDays(2), false));
+        engine.onTaskChanged(changed(1L, TODAY.plusDays(30), false));
+        engine.onTaskChanged(changed(2L, TODAY.minusDays(3), true));
+
+        when(taskRepository.elapseTasks(anyCollection(), eq(TODAY))).thenReturn(List.of());
+        engine.tick();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> batch = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository).elapseTasks(batch.capture(), eq(TODAY));
+        assertEquals(Set.of(3L, 4L), Set.copyOf(batch.getValue()));
+    }
+
+    @Test
+    void reconcile_sweepsUntilABatchComesBackShort() {
+        when(taskRepository.elapseOverdueTasks(TODAY, 2))
+                .thenReturn(List.of(elapsed(7L), elapsed(8L)))
+                .thenReturn(List.of(elapsed(9L)));
+
+        assertEquals(3, engine.reconcile());
+        verify(taskRepository, times(2)).elapseOverdueTasks(TODAY, 2);
+    }
+
+    private static TaskChangedEvent changed(Long id, LocalDate dueDate, boolean elapse) {
+        TaskSummary task = new TaskSummary(id, "Task " + id, "HIGH", null, false, false,
+                null, null, dueDate, elapse, "TRV-0" + id, "PENDING");
+        return new TaskChangedEvent(DueTaskElapseEngineTest.class, TaskChangedEvent.Type.UPDATED, 1L, null, task);
+    }
+
+    private static ElapsedTask elapsed(Long id) {
+        return new ElapsedTask() {
+            public Long getId() { return id; }
+            public Long getProjectId() { return 1L; }
+            public LocalDate getDueDate() { return TODAY.minusDays(1); }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.trailiva.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextTaskSearchEngineTest {
+
+    @Test
+    void toPrefixQuery_matchesEveryWordAsPrefix() {
+        assertEquals("fix:* & login:*", FullTextTaskSearchEngine.toPrefixQuery("Fix  LOGIN"));
+    }
+
+    @Test
+    void toPrefixQuery_dropsTsqueryOperators() {
+        assertEquals("a:* & b:*", FullTextTaskSearchEngine.toPrefixQuery("a & !b:* | ("));
+        assertEquals("", FullTextTaskSearchEngine.toPrefixQuery("&|!():*"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MemoryTaskSearchEngineTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    private MemoryTaskSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MemoryTaskSearchEngine(taskRepository, 2, 2);
+    }
+
+    @Test
+    void build_indexesEveryBatch() throws InterruptedException {
+        when(taskRepository.findMaxId()).thenReturn(3L);
+        when(taskRepository.findSummariesByIdRange(0L, 2L)).thenReturn(List.of(task(1L, "Login page", null), task(2L, "Logout", null)));
+        when(taskRepository.findSummariesByIdRange(2L, 3L)).thenReturn(List.of(task(3L, "Billing", null)));
+
+        engine.build();
+
+        assertEquals(3, engine.documentCount());
+        assertEquals(2, engine.count("log"));
+        assertTrue(engine.isReady());
+    }
+
+    @Test
+    void build_staysNotReadyWhenABatchFails() throws InterruptedException {
+        when(taskRepository.findMaxId()).thenReturn(3L);
+        when(taskRepository.findSummariesByIdRange(0L, 2L)).thenReturn(List.of(task(1L, "Login page", null)));
+        when(taskRepository.findSummariesByIdRange(2L, 3L)).thenThrow(new IllegalStateException("connection reset"));
+
+        engine.build();
+
+        assertFalse(engine.isReady());
+    }
+
+    @Test
+    void build_neverOverwritesChangesThatLandWhileABatchLoads() throws InterruptedException {
+        when(taskRepository.findMaxId()).thenReturn(2L);
+        when(taskRepository.findSummariesByIdRange(0L, 2L)).thenAnswer(invocation -> {
+            engine.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.UPDATED, 1L, null, task(1L, "Signup form", null)));
+            engine.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.DELETED, 2L, task(2L, "Logout", null), null));
+            return List.of(task(1L, "Login form", null), task(2L, "Logout", null));
+        });
+
+        engine.build();
+
+        assertEquals(List.of(1L), engine.search("sign", 0, 10));
+        assertEquals(0, engine.count("log"));
+    }
+
+    @Test
+    void refresh_picksUpOtherWritersAndDropsDeletedTasks() throws InterruptedException {
+        when(taskRepository.findMaxId()).thenReturn(2L);
+        when(taskRepository.findSummariesByIdRange(0L, 2L)).thenReturn(List.of(task(1L, "Login page", null), task(2L, "Logout", null)));
+        engine.build();
+        when(taskRepository.findSummariesUpdatedSince(any())).thenReturn(List.of(task(1L, "Billing page", null)));
+        when(taskRepository.findIdsByIdRange(0L, 2L)).thenReturn(List.of(1L));
+
+        engine.refresh();
+
+        assertEquals(List.of(1L), engine.search("bill", 0, 10));
+        assertEquals(0, engine.count("log"));
+        assertEquals(1, engine.documentCount());
+    }
+
+    @Test
+    void search_ranksNameMatchesAboveDescriptionMatches() {
+        engine.index(task(1L, "Write docs", "covers the login flow"));
+        engine.index(task(2L, "Login form", "validation"));
+
+        assertEquals(List.of(2L, 1L), engine.search("login", 0, 10));
+        assertEquals(List.of(1L), engine.search("login", 1, 1));
+    }
+
+    @Test
+    void search_requiresEveryWord() {
+        engine.index(task(1L, "Fix login bug", null));
+        engine.index(task(2L, "Fix billing", null));
+
+        assertEquals(List.of(1L), engine.search("fix log", 0, 10));
+    }
+
+    @Test
+    void onTaskChanged_replacesAndRemovesDocuments() {
+        TaskSummary original = task(1L, "Login form", null);
+        TaskSummary renamed = task(1L, "Signup form", null);
+        engine.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.CREATED, 1L, null, original));
+        engine.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.UPDATED, 1L, original, renamed));
+
+        assertEquals(0, engine.count("login"));
+        assertEquals(List.of(1L), engine.search("sign", 0, 10));
+
+        engine.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.DELETED, 1L, renamed, null));
+        assertEquals(0, engine.count("form"));
+        assertEquals(0, engine.termCount());
+    }
+
+    private static TaskSummary task(Long id, String name, String description) {
+        return new TaskSummary(id, name, "HIGH", description, false, false,
+                null, null, null, false, "TRV-0" + id, "PENDING");
+    }
+}
@@ -0,0 +1,116 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.TaskCountRow;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.TaskElapsedEvent;
+import com.trailiva.web.payload.response.TaskCounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProjectTaskCountersTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ProjectTaskCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ProjectTaskCounters(taskRepository, 100, 300);
+        when(taskRepository.countByProjectGrouped(5L)).thenReturn(List.of(
+                new TaskCountRow("PENDING", "HIGH", false, false, 3),
+                new TaskCountRow("COMPLETED", "LOW", true, true, 2)));
+    }
+
+    @Test
+    void get_loadsCountsOnceFromGroupedQuery() {
+        TaskCounts counts = counters.get(5L);
+        counters.get(5L);
+
+        assertEquals(5, counts.getTotal());
+        assertEquals(3, counts.getTabs().get("PENDING"));
+        assertEquals(0, counts.getTabs().get("IN_PROGRESS"));
+        assertEquals(2, counts.getPriorities().get("LOW"));
+        assertEquals(2, counts.getAssigned());
+        assertEquals(2, counts.getElapsed());
+        verify(taskRepository, times(1)).countByProjectGrouped(5L);
+    }
+
+    @Test
+    void onTaskChanged_movesCountsBetweenBuckets() {
+        counters.get(5L);
+        TaskSummary before = task("PENDING", "HIGH", false);
+        TaskSummary after = task("IN_PROGRESS", "HIGH", true);
+
+        counters.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.UPDATED, 5L, before, after));
+        counters.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.CREATED, 5L, null, before));
+        counters.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.DELETED, 5L, after, null));
+
+        TaskCounts counts = counters.get(5L);
+        assertEquals(5, counts.getTotal());
+        assertEquals(3, counts.getTabs().get("PENDING"));
+        assertEquals(0, counts.getTabs().get("IN_PROGRESS"));
+        assertEquals(2, counts.getAssigned());
+    }
+
+    @Test
+    void onTaskChanged_reloadsWhenPreviousStateIsUnknown() {
+        counters.get(5L);
+
+        counters.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.UPDATED, 5L, null, task("PENDING", "LOW", false)));
+        counters.get(5L);
+
+        verify(taskRepository, times(2)).countByProjectGrouped(5L);
+    }
+
+    @Test
+    void events_forProjectsNotYetLoadedAreIgnored() {
+        counters.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.CREATED, 5L, null, task("PENDING", "LOW", false)));
+        counters.onTaskElapsed(new TaskElapsedEvent(this, 1L, 5L, LocalDate.now()));
+
+        TaskCounts counts = counters.get(5L);
+        assertEquals(5, counts.getTotal());
+        assertEquals(2, counts.getElapsed());
+    }
+
+    @Test
+    void get_reloadsCountsWhenAnEventArrivedDuringTheLoad() {
+        List<TaskCountRow> before = List.of(new TaskCountRow("PENDING", "HIGH", false, false, 3));
+        List<TaskCountRow> after = List.of(new TaskCountRow("PENDING", "HIGH", false, false, 4));
+        when(taskRepository.countByProjectGrouped(5L)).thenAnswer(invocation -> {
+            counters.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.CREATED, 5L, null, task("PENDING", "HIGH", false)));
+            return before;
+        }).thenReturn(after);
+
+        assertEquals(4, counters.get(5L).getTotal());
+        assertEquals(4, counters.get(5L).getTotal());
+        verify(taskRepository, times(2)).countByProjectGrouped(5L);
+    }
+
+    @Test
+    void onTaskElapsed_incrementsElapsed() {
+        counters.get(5L);
+
+        counters.onTaskElapsed(new TaskElapsedEvent(this, 1L, 5L, LocalDate.now()));
+
+        assertEquals(3, counters.get(5L).getElapsed());
+    }
+
+    private TaskSummary task(String tab, String priority, boolean assigned) {
+        return new TaskSummary(1L, "task", priority, null, assigned, false, null, null, null, false, "TRV-01", tab);
+    }
+}
@@ -0,0 +1,97 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.RefreshToken;
+import com.trailiva.data.model.User;
+import com.trailiva.data.repository.RefreshTokenRepository;
+import com.trailiva.web.exceptions.TokenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.trailiva.util.Helper.hashToken;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RefreshTokenServiceImplTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, 2);
+        user = new User();
+        user.setUserId(1L);
+        user.setEmail("ismail@gmail.com");
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void onlyTheTokenHashIsStored() {
+        RefreshToken issued = refreshTokenService.issue(user);
+
+        assertNotNull(issued.getToken());
+        assertEquals(hashToken(issued.getToken()), issued.getTokenHash());
+        assertNotEquals(issued.getToken(), issued.getTokenHash());
+    }
+
+    @Test
+    void oldestFamiliesAreDroppedOnceTheCapIsReached() {
+        RefreshToken newest = new RefreshToken(user);
+        RefreshToken oldest = new RefreshToken(user);
+        when(refreshTokenRepository.findByUserUserIdOrderByCreatedDateDesc(1L)).thenReturn(List.of(newest, oldest));
+
+        refreshTokenService.issue(user);
+
+        verify(refreshTokenRepository).deleteAll(List.of(oldest));
+    }
+
+    @Test
+    void refreshRotatesTheTokenInPlace() throws TokenException {
+        RefreshToken family = new RefreshToken(user);
+        String presented = family.getToken();
+        when(refreshTokenRepository.findByTokenHash(hashToken(presented))).thenReturn(Optional.of(family));
+
+        RefreshToken rotated = refreshTokenService.rotate(presented);
+
+        assertSame(family, rotated);
+        assertNotEquals(presented, rotated.getToken());
+        assertEquals(hashToken(presented), rotated.getPreviousHash());
+        verify(refreshTokenRepository, never()).delete(any());
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheFamily() {
+        RefreshToken family = new RefreshToken(user);
+        String presented = family.getToken();
+        family.rotate();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByPreviousHash(hashToken(presented))).thenReturn(Optional.of(family));
+
+        assertThrows(TokenException.class, () -> refreshTokenService.rotate(presented));
+        verify(refreshTokenRepository).delete(family);
+    }
+
+    @Test
+    void expiredFamilyIsDeleted() {
+        RefreshToken family = new RefreshToken(user);
+        family.setExpiryDate(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(hashToken(family.getToken()))).thenReturn(Optional.of(family));
+
+        assertThrows(TokenException.class, () -> refreshTokenService.rotate(family.getToken()));
+        verify(refreshTokenRepository).delete(family);
+    }
+}
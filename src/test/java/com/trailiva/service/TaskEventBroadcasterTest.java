@@ -0,0 +1,133 @@
+package com.trailiva.service;
+
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.web.payload.response.TaskDelta;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventBroadcasterTest {
+    private final Deque<Runnable> sends = new ArrayDeque<>();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private TaskEventBroadcaster broadcaster(int bufferSize) {
+        return new TaskEventBroadcaster(bufferSize, sends::add, () -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    @Test
+    void publish_buffersDeltasUntilTheSenderDrains() {
+        TaskEventBroadcaster broadcaster = broadcaster(4);
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(1L);
+
+        broadcaster.onTaskChanged(created(1L, 10L));
+        broadcaster.onTaskChanged(created(1L, 11L));
+
+        assertTrue(emitter.taskIds().isEmpty());
+        assertEquals(1, sends.size());
+        runSends();
+        assertEquals(List.of("task", "task"), emitter.names());
+        assertEquals(List.of(10L, 11L), emitter.taskIds());
+    }
+
+    @Test
+    void publish_onlyReachesSubscribersOfTheProject() {
+        TaskEventBroadcaster broadcaster = broadcaster(4);
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(1L);
+
+        broadcaster.onTaskChanged(created(2L, 10L));
+        runSends();
+
+        assertTrue(emitter.taskIds().isEmpty());
+    }
+
+    @Test
+    void subscribe_opensTheStreamWithAComment() {
+        TaskEventBroadcaster broadcaster = broadcaster(4);
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(1L);
+
+        assertEquals(List.of(List.of(":connected\n\n")), emitter.events);
+        assertTrue(sends.isEmpty());
+    }
+
+    @Test
+    void publish_replacesAnOverflowingBufferWithOneResync() {
+        TaskEventBroadcaster broadcaster = broadcaster(2);
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(1L);
+
+        broadcaster.onTaskChanged(created(1L, 10L));
+        broadcaster.onTaskChanged(created(1L, 11L));
+        broadcaster.onTaskChanged(created(1L, 12L));
+        runSends();
+
+        assertEquals(List.of("resync"), emitter.names());
+
+        broadcaster.onTaskChanged(created(1L, 13L));
+        runSends();
+        assertEquals(List.of("resync", "task"), emitter.names());
+    }
+
+    @Test
+    void drain_unsubscribesWhenSendingFails() {
+        TaskEventBroadcaster broadcaster = broadcaster(4);
+        RecordingEmitter emitter = (RecordingEmitter) broadcaster.subscribe(1L);
+        emitter.failing = true;
+
+        broadcaster.onTaskChanged(created(1L, 10L));
+        runSends();
+
+        assertEquals(0, broadcaster.subscriberCount());
+        broadcaster.onTaskChanged(created(1L, 11L));
+        assertTrue(sends.isEmpty());
+    }
+
+    private void runSends() {
+        Runnable send;
+        while ((send = sends.poll()) != null) send.run();
+    }
+
+    private static TaskChangedEvent created(Long projectId, Long taskId) {
+        TaskSummary task = new TaskSummary(taskId, "task " + taskId, "LOW", null, false, false,
+                null, null, null, false, "TRV-" + taskId, "PENDING");
+        return new TaskChangedEvent(TaskEventBroadcasterTest.class, TaskChangedEvent.Type.CREATED, projectId, null, task);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<List<Object>> events = new ArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) throw new IOException("Broken pipe");
+            events.add(builder.build().stream().map(DataWithMediaType::getData).collect(Collectors.toList()));
+        }
+
+        List<String> names() {
+            return events.stream()
+                    .map(parts -> String.valueOf(parts.get(0)))
+                    .filter(text -> text.startsWith("event:"))
+                    .map(text -> text.substring("event:".length(), text.indexOf('\n')))
+                    .collect(Collectors.toList());
+        }
+
+        List<Long> taskIds() {
+            return events.stream()
+                    .flatMap(List::stream)
+                    .filter(TaskDelta.class::isInstance)
+                    .map(part -> ((TaskDelta) part).getTaskId())
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.trailiva.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.ProjectRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.exceptions.ProjectException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskExporterTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new TaskExporter(taskRepository, projectRepository, new ObjectMapper().findAndRegisterModules(), transactionManager);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.streamSummariesByProjectId(1L)).thenAnswer(invocation -> Stream.of(
+                task(1L, "Plan sprint", "Scope, then estimate"), task(2L, "Ship", null)));
+    }
+
+    @Test
+    void export_writesOneJsonObjectPerLine() throws Exception {
+        String body = run(TaskExporter.Format.NDJSON);
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[1].contains("\"dueDate\":\"2022-03-01\""));
+        assertTrue(body.endsWith("\n"));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void export_writesQuotedCsvWithHeader() throws Exception {
+        String body = run(TaskExporter.Format.CSV);
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("\"id\",\"reference\",\"name\""));
+        assertTrue(lines[1].startsWith("\"1\",\"TRV-01\",\"Plan sprint\",\"Scope, then estimate\",\"PENDING\""));
+    }
+
+    @Test
+    void export_rejectsUnknownProject() {
+        assertThrows(ProjectException.class, () -> exporter.export(9L, TaskExporter.Format.CSV));
+        verify(taskRepository, never()).streamSummariesByProjectId(any());
+    }
+
+    @Test
+    void fetchFormat_rejectsUnknownFormats() throws BadRequestException {
+        assertEquals(TaskExporter.Format.CSV, TaskExporter.Format.fetchFormat("CSV"));
+        assertEquals(TaskExporter.Format.NDJSON, TaskExporter.Format.fetchFormat("ndjson"));
+        assertThrows(BadRequestException.class, () -> TaskExporter.Format.fetchFormat("xml"));
+    }
+
+    private String run(TaskExporter.Format format) throws ProjectException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(1L, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private TaskSummary task(Long id, String name, String description) {
+        return new TaskSummary(id, name, "HIGH", description, false, false, null, null,
+                LocalDate.of(2022, 3, 1), false, "TRV-0" + id, "PENDING");
+    }
+}
@@ -0,0 +1,103 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.ParticipantRole;
+import com.trailiva.data.model.TaskParticipant;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.TaskParticipantRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.payload.response.CursorPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskParticipantsTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 3, 1, 10, 0);
+
+    @Mock
+    private TaskParticipantRepository participantRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskParticipants participants;
+
+    @BeforeEach
+    void setUp() {
+        participants = new TaskParticipants(participantRepository, taskRepository);
+        when(taskRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(this::task).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findTasks_listsEachTaskOnceAcrossRoles() throws BadRequestException {
+        when(participantRepository.findLatest(eq(8L), eq(EnumSet.allOf(ParticipantRole.class)), eq(PageRequest.of(0, 9))))
+                .thenReturn(List.of(
+                        row(5L, ParticipantRole.ASSIGNEE, NOW), row(5L, ParticipantRole.CREATOR, NOW),
+                        row(4L, ParticipantRole.REPORTER, NOW.minusHours(1)),
+                        row(3L, ParticipantRole.CREATOR, NOW.minusHours(2))));
+
+        CursorPage<TaskSummary> page = participants.findTasks(8L, null, null, 2);
+
+        assertEquals(List.of(5L, 4L), page.getData().stream().map(TaskSummary::getId).collect(Collectors.toList()));
+        TaskCursor next = TaskCursor.decode(page.getNextCursor(), TaskSort.RECENT);
+        assertEquals(4L, next.getId());
+        assertEquals(NOW.minusHours(1), next.getUpdatedAt());
+    }
+
+    @Test
+    void findTasks_continuesBeforeTheCursorInOneRole() throws BadRequestException {
+        String cursor = TaskCursor.recent(4L, NOW).encode();
+        when(participantRepository.findLatestBefore(8L, EnumSet.of(ParticipantRole.ASSIGNEE), NOW, 4L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(row(2L, ParticipantRole.ASSIGNEE, NOW.minusDays(1))));
+
+        CursorPage<TaskSummary> page = participants.findTasks(8L, ParticipantRole.ASSIGNEE, cursor, 2);
+
+        assertEquals(1, page.getData().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findTasks_rejectsEmptyPages() {
+        assertThrows(BadRequestException.class, () -> participants.findTasks(8L, null, null, 0));
+    }
+
+    @Test
+    void created_skipsTasksWithoutCreator() {
+        participants.created(List.of(1L), null);
+
+        verify(participantRepository, never()).join(anyCollection(), anyString(), any(), any());
+    }
+
+    private TaskParticipant row(Long taskId, ParticipantRole role, LocalDateTime updatedAt) {
+        TaskParticipant participant = new TaskParticipant();
+        participant.setTaskId(taskId);
+        participant.setRole(role);
+        participant.setUserId(8L);
+        participant.setUpdatedAt(updatedAt);
+        return participant;
+    }
+
+    private TaskSummary task(Long id) {
+        return new TaskSummary(id, "task " + id, "LOW", null, false, false, null, null, null, false, "TRV-0" + id, "PENDING");
+    }
+}
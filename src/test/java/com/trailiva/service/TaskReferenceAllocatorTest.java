@@ -0,0 +1,75 @@
+package com.trailiva.service;
+
+import com.trailiva.data.repository.TaskSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskReferenceAllocatorTest {
+    @Mock
+    private TaskSequenceRepository taskSequenceRepository;
+
+    private TaskReferenceAllocator allocator;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        allocator = new TaskReferenceAllocator(taskSequenceRepository, 10);
+        when(taskSequenceRepository.allocateBlock(anyLong(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            long seed = invocation.getArgument(1);
+            int blockSize = invocation.getArgument(2);
+            sequence.compareAndSet(0, seed);
+            return sequence.addAndGet(blockSize);
+        });
+    }
+
+    @Test
+    void referencesContinueAfterExistingTasks() {
+        assertEquals(4, allocator.next(1L, () -> 3));
+        assertEquals(5, allocator.next(1L, () -> 3));
+        verify(taskSequenceRepository, times(1)).allocateBlock(1L, 3, 10);
+    }
+
+    @Test
+    void existingSequencesAreNotSeededAgain() {
+        sequence.set(20);
+        when(taskSequenceRepository.existsById(1L)).thenReturn(true);
+        LongSupplier lastUsed = mock(LongSupplier.class);
+
+        assertEquals(21, allocator.next(1L, lastUsed));
+        verify(lastUsed, never()).getAsLong();
+    }
+
+    @Test
+    void concurrentCallersGetUniqueReferencesWithOneRoundTripPerBlock() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<Long> references = ConcurrentHashMap.newKeySet();
+        try {
+            CompletableFuture<?>[] calls = new CompletableFuture<?>[100];
+            for (int i = 0; i < calls.length; i++) {
+                calls[i] = CompletableFuture.runAsync(() -> references.add(allocator.next(7L, () -> 0)), executor);
+            }
+            CompletableFuture.allOf(calls).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100, references.size());
+        verify(taskSequenceRepository, times(10)).allocateBlock(eq(7L), anyLong(), eq(10));
+    }
+}
@@ -0,0 +1,284 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.Priority;
+import com.trailiva.data.model.Project;
+import com.trailiva.data.model.Tab;
+import com.trailiva.data.model.Task;
+import com.trailiva.data.projection.BoardRow;
+import com.trailiva.data.projection.TaskCursor;
+import com.trailiva.data.projection.TaskSort;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.ProjectRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.web.exceptions.BadRequestException;
+import com.trailiva.web.exceptions.ProjectException;
+import com.trailiva.web.exceptions.TaskException;
+import com.trailiva.web.payload.request.TaskRequest;
+import com.trailiva.web.payload.response.BoardColumn;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.modelmapper.ModelMapper;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TaskServiceImplTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskReferenceAllocator taskReferenceAllocator;
+
+    @Mock
+    private TaskSearchEngine searchEngine;
+
+    @Mock
+    private TaskParticipants taskParticipants;
+
+    private TaskFactory taskFactory;
+    private TaskServiceImpl taskService;
+    private Project project;
+    private TaskRequest request;
+
+    @BeforeEach
+    void setUp() {
+        taskFactory = new TaskFactory(new ModelMapper(), taskReferenceAllocator, taskRepository);
+        taskService = new TaskServiceImpl(taskRepository, projectRepository, new ModelMapper(), taskFactory, taskParticipants,
+                Optional.empty());
+        project = new Project();
+        project.setProjectId(1L);
+        project.setReferenceName("TRV");
+        request = new TaskRequest();
+        request.setName("  Write Docs ");
+        request.setPriority("HIGH");
+
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(taskReferenceAllocator.next(eq(1L), any())).thenReturn(7L);
+    }
+
+    @Test
+    void createTask_setsProjectAndReferenceWithoutLoadingProjectTasks() throws TaskException, ProjectException {
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saved.setId(11L);
+            return saved;
+        });
+
+        Task task = taskService.createTask(request, 1L, 3L);
+
+        assertSame(project, task.getProject());
+        assertEquals("TRV-07", task.getTaskReference());
+        assertEquals("write docs", Task.nameKey(task.getName()));
+        verify(taskParticipants).created(List.of(11L), 3L);
+    }
+
+    @Test
+    void createTask_seedsReferencesAfterTheHighestReferenceInUse() throws TaskException, ProjectException {
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saved.setId(12L);
+            return saved;
+        });
+        when(taskRepository.countByProjectProjectId(1L)).thenReturn(2L);
+        when(taskRepository.findMaxReferenceNumber(1L)).thenReturn(41L);
+        ArgumentCaptor<LongSupplier> lastUsed = ArgumentCaptor.forClass(LongSupplier.class);
+
+        taskService.createTask(request, 1L, 3L);
+
+        verify(taskReferenceAllocator).next(eq(1L), lastUsed.capture());
+        assertEquals(41L, lastUsed.getValue().getAsLong());
+    }
+
+    @Test
+    void createTask_mapsNameConstraintViolationToTaskException() {
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("duplicate key"), Task.NAME_KEY_CONSTRAINT);
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate", violation));
+
+        TaskException exception = assertThrows(TaskException.class, () -> taskService.createTask(request, 1L, 3L));
+        assertEquals("This task already exist", exception.getMessage());
+    }
+
+    @Test
+    void updateTask_mapsNameConstraintViolationToTaskException() {
+        Task task = new Task();
+        task.setId(4L);
+        task.setName("Review docs");
+        when(taskRepository.findWithPeopleById(4L)).thenReturn(Optional.of(task));
+        ConstraintViolationException violation = new ConstraintViolationException("duplicate",
+                new SQLException("duplicate key"), Task.NAME_KEY_CONSTRAINT);
+        when(taskRepository.saveAndFlush(task))
+                .thenThrow(new DataIntegrityViolationException("duplicate", violation));
+
+        TaskException exception = assertThrows(TaskException.class, () -> taskService.updateTask(request, 4L));
+        assertEquals("This task already exist", exception.getMessage());
+    }
+
+    @Test
+    void filterTaskByPriority_queriesTheRepositoryInsteadOfTheProjectCollection() throws ProjectException {
+        TaskSummary summary = new TaskSummary(3L, "Write docs", "HIGH", null, false, false,
+                null, null, null, false, "TRV-03", "PENDING");
+        when(taskRepository.findSummariesByProjectAndPriority(1L, "HIGH")).thenReturn(List.of(summary));
+
+        List<TaskSummary> tasks = taskService.filterTaskByPriority(1L, Priority.HIGH);
+
+        assertEquals(List.of(summary), tasks);
+        verify(projectRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void filterTaskByTab_failsForUnknownProject() {
+        when(taskRepository.findSummariesByProjectAndTab(9L, "PENDING")).thenReturn(List.of());
+        when(projectRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(ProjectException.class, () -> taskService.filterTaskByTab(9L, Tab.PENDING));
+    }
+
+    @Test
+    void searchTask_withCursorSeeksPastTheLastNameAndSkipsTheCount() throws BadRequestException {
+        TaskSummary first = new TaskSummary(4L, "Alpha", "HIGH", null, false, false,
+                null, null, null, false, "TRV-04", "PENDING");
+        TaskSummary second = new TaskSummary(2L, "Beta", "HIGH", null, false, false,
+                null, null, null, false, "TRV-02", "PENDING");
+        TaskSummary extra = new TaskSummary(9L, "Gamma", "HIGH", null, false, false,
+                null, null, null, false, "TRV-09", "PENDING");
+        when(taskRepository.findSummaries(any(), eq(TaskSort.NAME), isNull(), eq(3)))
+                .thenReturn(List.of(first, second, extra));
+        Map<String, String> params = new HashMap<>();
+        params.put("cursor", "");
+
+        Map<String, Object> response = taskService.searchTaskByNameAndDescription(params, 0, 2);
+
+        assertEquals(List.of(first, second), response.get("data"));
+        TaskCursor next = TaskCursor.decode((String) response.get("nextCursor"), TaskSort.NAME);
+        assertEquals(2L, next.getId());
+        assertEquals("Beta", next.getName());
+        assertFalse(response.containsKey("recordsTotal"));
+        verify(taskRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void searchTask_rejectsCursorFromAnotherSort() {
+        TaskSummary task = new TaskSummary(4L, "Alpha", "HIGH", null, false, false,
+                null, LocalDateTime.now(), null, false, "TRV-04", "PENDING");
+        Map<String, String> params = new HashMap<>();
+        params.put("cursor", TaskCursor.after(task, TaskSort.RECENT).encode());
+
+        assertThrows(BadRequestException.class, () -> taskService.searchTaskByNameAndDescription(params, 0, 2));
+    }
+
+    @Test
+    void searchTask_offsetPageSelectsSummariesOnly() throws BadRequestException {
+        TaskSummary alpha = new TaskSummary(4L, "Alpha", "HIGH", null, false, false,
+                null, null, null, false, "TRV-04", "PENDING");
+        when(taskRepository.findSummaryPage(any(), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(alpha), invocation.getArgument(1), 3));
+
+        Map<String, Object> response = taskService.searchTaskByNameAndDescription(Map.of("name", "Al"), 0, 1);
+
+        assertEquals(List.of(alpha), response.get("data"));
+        assertEquals(3L, response.get("recordsTotal"));
+        verify(taskRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchTask_withSearchEngineKeepsTheEngineRanking() throws BadRequestException {
+        taskService = new TaskServiceImpl(taskRepository, projectRepository, new ModelMapper(), taskFactory, taskParticipants,
+                Optional.of(searchEngine));
+        TaskSummary alpha = new TaskSummary(4L, "Alpha", "HIGH", null, false, false,
+                null, null, null, false, "TRV-04", "PENDING");
+        TaskSummary beta = new TaskSummary(2L, "Beta", "HIGH", null, false, false,
+                null, null, null, false, "TRV-02", "PENDING");
+        when(searchEngine.isReady()).thenReturn(true);
+        when(searchEngine.search("login bug", 0, 10)).thenReturn(List.of(2L, 4L));
+        when(searchEngine.count("login bug")).thenReturn(2L);
+        when(taskRepository.findSummariesByIdIn(List.of(2L, 4L))).thenReturn(List.of(alpha, beta));
+
+        Map<String, Object> response = taskService.searchTaskByNameAndDescription(Map.of("q", "login bug"), 0, 10);
+
+        assertEquals(List.of(beta, alpha), response.get("data"));
+        assertEquals(2L, response.get("recordsTotal"));
+        verify(taskRepository, never()).findSummaryPage(any(Specification.class),
+                any(Pageable.class));
+    }
+
+    @Test
+    void searchTask_usesLikeQueriesUntilTheSearchEngineIsReady() throws BadRequestException {
+        taskService = new TaskServiceImpl(taskRepository, projectRepository, new ModelMapper(), taskFactory, taskParticipants,
+                Optional.of(searchEngine));
+        when(searchEngine.isReady()).thenReturn(false);
+        when(taskRepository.findSummaryPage(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        taskService.searchTaskByNameAndDescription(Map.of("name", "login"), 0, 10);
+
+        verify(searchEngine, never()).search(anyString(), anyInt(), anyInt());
+        verify(taskRepository).findSummaryPage(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getBoard_groupsOneQueryIntoEveryTab() throws ProjectException, BadRequestException {
+        LocalDateTime now = LocalDateTime.now();
+        when(taskRepository.findBoard(1L, 2)).thenReturn(List.of(
+                boardRow(5L, "COMPLETED", now, 1),
+                boardRow(4L, "PENDING", now, 3),
+                boardRow(3L, "PENDING", now.minusDays(1), 3)));
+
+        List<BoardColumn> board = taskService.getBoard(1L, 2);
+
+        assertEquals(List.of("PENDING", "IN_PROGRESS", "COMPLETED"),
+                board.stream().map(BoardColumn::getTab).collect(Collectors.toList()));
+        BoardColumn pending = board.get(0);
+        assertEquals(3, pending.getTotal());
+        assertEquals(2, pending.getTasks().size());
+        assertEquals(3L, TaskCursor.decode(pending.getNextCursor(), TaskSort.RECENT).getId());
+        assertEquals(0, board.get(1).getTotal());
+        assertNull(board.get(2).getNextCursor());
+        verify(projectRepository, never()).existsById(anyLong());
+    }
+
+    private static BoardRow boardRow(Long id, String tab, LocalDateTime updatedAt, long tabTotal) {
+        return new BoardRow() {
+            public Long getId() { return id; }
+            public String getName() { return "Task " + id; }
+            public String getPriority() { return "HIGH"; }
+            public String getDescription() { return null; }
+            public Boolean getIsAssigned() { return false; }
+            public Boolean getIsRequested() { return false; }
+            public LocalDateTime getCreatedAt() { return updatedAt; }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public LocalDate getDueDate() { return null; }
+            public Boolean getElapse() { return false; }
+            public String getTaskReference() { return "TRV-0" + id; }
+            public String getTab() { return tab; }
+            public long getTabTotal() { return tabTotal; }
+        };
+    }
+}
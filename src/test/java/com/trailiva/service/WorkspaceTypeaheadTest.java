@@ -0,0 +1,115 @@
+package com.trailiva.service;
+
+import com.trailiva.data.model.WorkSpaceType;
+import com.trailiva.data.projection.MemberName;
+import com.trailiva.data.projection.Suggestion;
+import com.trailiva.data.projection.TaskSummary;
+import com.trailiva.data.repository.OfficialWorkspaceRepository;
+import com.trailiva.data.repository.PersonalWorkspaceRepository;
+import com.trailiva.data.repository.TaskRepository;
+import com.trailiva.event.TaskChangedEvent;
+import com.trailiva.event.WorkspaceMembershipChangedEvent;
+import com.trailiva.web.exceptions.WorkspaceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WorkspaceTypeaheadTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private OfficialWorkspaceRepository officialWorkspaceRepository;
+
+    @Mock
+    private PersonalWorkspaceRepository personalWorkspaceRepository;
+
+    private WorkspaceTypeahead typeahead;
+
+    @BeforeEach
+    void setUp() {
+        typeahead = new WorkspaceTypeahead(taskRepository, officialWorkspaceRepository, personalWorkspaceRepository, 10, 30);
+        when(officialWorkspaceRepository.isMember(1L, 8L)).thenReturn(true);
+        when(officialWorkspaceRepository.findProjectIds(1L)).thenReturn(List.of(5L));
+        when(officialWorkspaceRepository.findMemberNames(1L)).thenReturn(List.of(new MemberName(8L, "Lola", "Ade")));
+        when(taskRepository.findSummariesByProjectIdIn(List.of(5L))).thenReturn(List.of(
+                task(1L, "Fix login bug", "TRV-01"), task(2L, "Billing report", "TRV-02")));
+    }
+
+    @Test
+    void suggest_matchesAnyWordOfNamesReferencesAndMembers() throws WorkspaceException {
+        assertEquals(List.of("TASK:1", "USER:8"), keys(typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "lo", 10)));
+        assertEquals(List.of("REFERENCE:2"), keys(typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "trv-02", 10)));
+        assertEquals(List.of("TASK:1"), keys(typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "fix lo", 10)));
+    }
+
+    @Test
+    void suggest_loadsEachWorkspaceOnce() throws WorkspaceException {
+        typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "f", 10);
+        typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "fi", 10);
+
+        verify(taskRepository, times(1)).findSummariesByProjectIdIn(any());
+    }
+
+    @Test
+    void suggest_failsForUnknownWorkspace() {
+        assertThrows(WorkspaceException.class, () -> typeahead.suggest(WorkSpaceType.PERSONAL, 3L, 8L, "a", 10));
+    }
+
+    @Test
+    void suggest_rejectsNonMembersBeforeLoading() {
+        assertThrows(WorkspaceException.class, () -> typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 9L, "lo", 10));
+
+        verify(officialWorkspaceRepository, never()).findProjectIds(any());
+        verify(taskRepository, never()).findSummariesByProjectIdIn(any());
+    }
+
+    @Test
+    void suggest_cachesMembershipUntilItChanges() throws WorkspaceException {
+        typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "lo", 10);
+        typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "bi", 10);
+        verify(officialWorkspaceRepository, times(1)).isMember(1L, 8L);
+
+        when(officialWorkspaceRepository.isMember(1L, 8L)).thenReturn(false);
+        typeahead.onMembershipChanged(new WorkspaceMembershipChangedEvent(this, WorkSpaceType.OFFICIAL, 1L,
+                new MemberName(8L, "Lola", "Ade"), false));
+
+        assertThrows(WorkspaceException.class, () -> typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "lo", 10));
+    }
+
+    @Test
+    void events_updateLoadedWorkspace() throws WorkspaceException {
+        typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "x", 10);
+        TaskSummary renamed = task(2L, "Invoice report", "TRV-02");
+
+        typeahead.onTaskChanged(new TaskChangedEvent(this, TaskChangedEvent.Type.UPDATED, 5L, null, renamed));
+        typeahead.onMembershipChanged(new WorkspaceMembershipChangedEvent(this, WorkSpaceType.OFFICIAL, 1L,
+                new MemberName(8L, "Lola", "Ade"), false));
+
+        assertEquals(List.of(), typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "bill", 10));
+        assertEquals(List.of("TASK:2"), keys(typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "inv", 10)));
+        assertEquals(List.of("TASK:1"), keys(typeahead.suggest(WorkSpaceType.OFFICIAL, 1L, 8L, "lo", 10)));
+    }
+
+    private static List<String> keys(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::key).collect(Collectors.toList());
+    }
+
+    private static TaskSummary task(Long id, String name, String reference) {
+        return new TaskSummary(id, name, "HIGH", null, false, false,
+                null, null, null, false, reference, "PENDING");
+    }
+}
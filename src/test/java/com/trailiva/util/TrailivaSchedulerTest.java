@@ -14,6 +14,7 @@ import org.mockito.quality.Strictness;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Optional;
 
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
@@ -24,7 +25,7 @@ class TrailivaSchedulerTest {
     @Mock
     TaskRepository taskRepository;
     @InjectMocks
-    TaskService mockTaskService=new TaskServiceImpl(null, null,  null);
+    TaskService mockTaskService=new TaskServiceImpl(null, null, null, null, null, Optional.empty());
 
     @Mock
     Scheduler scheduler;
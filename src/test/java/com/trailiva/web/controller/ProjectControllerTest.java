@@ -0,0 +1,105 @@
+package com.trailiva.web.controller;
+
+import com.trailiva.service.ProjectService;
+import com.trailiva.service.TaskEventBroadcaster;
+import com.trailiva.service.TaskExporter;
+import com.trailiva.web.exceptions.CustomControllerAdvice;
+import com.trailiva.web.exceptions.ProjectException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ProjectControllerTest {
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private TaskEventBroadcaster taskEventBroadcaster;
+
+    @Mock
+    private TaskExporter taskExporter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProjectController(projectService, taskEventBroadcaster, taskExporter))
+                .setControllerAdvice(new CustomControllerAdvice())
+                .build();
+    }
+
+    @Test
+    void streamTaskChanges_startsAnAsyncEventStream() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().comment("connected"));
+        when(taskEventBroadcaster.subscribe(1L)).thenReturn(emitter);
+
+        mockMvc.perform(get("/api/v1/trailiva/projects/project/1/events"))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    @Test
+    void streamTaskChanges_rejectsUnknownProject() throws Exception {
+        when(projectService.getProjectById(9L)).thenThrow(new ProjectException("Project not found"));
+
+        mockMvc.perform(get("/api/v1/trailiva/projects/project/9/events"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Project not found"));
+        verify(taskEventBroadcaster, never()).subscribe(any());
+    }
+
+    @Test
+    void exportTasks_streamsTheBodyAsAnAttachment() throws Exception {
+        StreamingResponseBody body = out -> out.write("\"id\"\n\"1\"\n".getBytes(StandardCharsets.UTF_8));
+        when(taskExporter.export(1L, TaskExporter.Format.CSV)).thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/trailiva/projects/project/1/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"project-1-tasks.csv\""))
+                .andExpect(content().string("\"id\"\n\"1\"\n"));
+    }
+
+    @Test
+    void exportTasks_rejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/trailiva/projects/project/1/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unsupported export format xml"));
+        verify(taskExporter, never()).export(any(), any());
+    }
+
+    @Test
+    void exportTasks_rejectsUnknownProject() throws Exception {
+        when(taskExporter.export(9L, TaskExporter.Format.NDJSON)).thenThrow(new ProjectException("Project not found"));
+
+        mockMvc.perform(get("/api/v1/trailiva/projects/project/9/export"))
+                .andExpect(status().isBadRequest());
+    }
+}